@@ -0,0 +1,93 @@
+package ie.atu.sw;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code FindClosestWordBenchmark} class measures one replacement search against
+ * target lists of 1k, 10k and 50k words, with the exact scan, the top-k scan and the
+ * {@link HnswIndex}.
+ * <p>
+ * Each call searches the next word of a fixed cycle of non-target vocabulary words, so
+ * successive calls do not hit the same cache lines of the query.
+ * </p>
+ *
+ * @see SyntheticEmbeddings
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class FindClosestWordBenchmark {
+
+	private static final int VOCABULARY_SIZE = 60_000; // Room for 50k targets plus query words
+	private static final int QUERY_COUNT = 1024; // Query words cycled through
+
+	@Param({ "1000", "10000", "50000" })
+	private int targets;
+
+	@Param({ "COSINE", "EUCLIDEAN" })
+	private SimilarityCalculationType type;
+
+	private TextSimplifier exact;
+	private TextSimplifier approximate;
+	private String[] queries;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Map<String, float[]> embeddings = SyntheticEmbeddings.embeddings(VOCABULARY_SIZE, 50, 42);
+		EmbeddingStore store = HeapEmbeddingStore.fromMap(embeddings);
+		TargetIndex targetIndex = TargetIndex.fromMap(SyntheticEmbeddings.targets(embeddings, targets));
+		SimilarityStrategy strategy = type.createStrategy();
+
+		exact = new TextSimplifier(store, targetIndex, strategy);
+		approximate = new TextSimplifier(store, targetIndex, strategy);
+		approximate.setNearestNeighbourIndex(HnswIndex.build(targetIndex, strategy, 16, 200, 64));
+
+		queries = new String[QUERY_COUNT];
+		for (int i = 0; i < QUERY_COUNT; i++) {
+			queries[i] = SyntheticEmbeddings.word(VOCABULARY_SIZE - 1 - i); // Never a target
+		}
+	}
+
+	private String nextQuery() {
+		String query = queries[next];
+		next = (next + 1) % QUERY_COUNT;
+		return query;
+	}
+
+	@Benchmark
+	public String exactScan() {
+		return exact.findClosestWord(nextQuery());
+	}
+
+	@Benchmark
+	public Object topTen() {
+		return exact.findClosestWords(nextQuery(), 10);
+	}
+
+	@Benchmark
+	public String hnsw() {
+		return approximate.findClosestWord(nextQuery());
+	}
+
+}
@@ -0,0 +1,89 @@
+package ie.atu.sw;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code LoadEmbeddingsBenchmark} class measures
+ * {@link FileParser#loadEmbeddingsFile(String)} on a generated CSV file, and on the same
+ * file converted to the {@link BinaryEmbeddings} format.
+ * <p>
+ * The files are written once per trial to the temporary directory, so repeated
+ * iterations read them from the page cache: the figure is parsing throughput, not disk
+ * speed. Divide the file size printed at set-up by the time per operation for MB/s.
+ * </p>
+ *
+ * @see SyntheticEmbeddings
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LoadEmbeddingsBenchmark {
+
+	@Param({ "100000", "400000" })
+	private int words;
+
+	private Path csvFile;
+	private Path binaryFile;
+	private PrintStream console;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		csvFile = Files.createTempFile("embeddings", ".txt");
+		binaryFile = Files.createTempFile("embeddings", ".bin");
+		SyntheticEmbeddings.writeCsv(SyntheticEmbeddings.embeddings(words, 50, 42), csvFile);
+		BinaryEmbeddings.convert(csvFile.toString(), binaryFile.toString());
+		System.out.println("CSV file: " + Files.size(csvFile) + " bytes");
+
+		// The loader prints a summary on every call; keep it out of the benchmark output
+		console = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		System.setOut(console);
+		Files.deleteIfExists(csvFile);
+		Files.deleteIfExists(binaryFile);
+	}
+
+	@Benchmark
+	public EmbeddingStore parseCsv() {
+		FileParser fileParser = new FileParser();
+		fileParser.loadEmbeddingsFile(csvFile.toString());
+		return fileParser.getEmbeddings();
+	}
+
+	@Benchmark
+	public EmbeddingStore mapBinary() {
+		FileParser fileParser = new FileParser();
+		fileParser.loadEmbeddingsFile(binaryFile.toString());
+		return fileParser.getEmbeddings();
+	}
+
+}
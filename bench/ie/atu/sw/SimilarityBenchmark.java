@@ -0,0 +1,81 @@
+package ie.atu.sw;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code SimilarityBenchmark} class measures one similarity calculation for every
+ * {@link SimilarityCalculationType}, at several vector lengths, for both the scalar and
+ * the SIMD ({@link VectorSimilarity}) implementations.
+ * <p>
+ * {@link #pair()} is the original two-array call; {@link #row()} is the call used by
+ * the target scan, with the query norm precomputed and the target read from a matrix row.
+ * </p>
+ *
+ * @see SyntheticEmbeddings
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SimilarityBenchmark {
+
+	@Param({ "COSINE", "DOT_PRODUCT", "EUCLIDEAN", "MANHATTAN" })
+	private SimilarityCalculationType type;
+
+	@Param({ "50", "100", "300" })
+	private int dimension;
+
+	@Param({ "scalar", "vector" })
+	private String implementation;
+
+	private SimilarityStrategy strategy;
+	private float[] query;
+	private float[] target;
+	private float[] matrix; // Target stored as row 3 of a small matrix
+	private int offset;
+	private double queryNorm;
+	private double rowNorm;
+
+	@Setup
+	public void setUp() {
+		strategy = implementation.equals("vector") ? new VectorSimilarity(type) : type.createScalarStrategy();
+		Random random = new Random(42);
+		query = SyntheticEmbeddings.vector(random, dimension);
+		target = SyntheticEmbeddings.vector(random, dimension);
+		matrix = new float[dimension * 4];
+		offset = dimension * 3;
+		System.arraycopy(target, 0, matrix, offset, dimension);
+		queryNorm = TargetIndex.norm(query, 0, dimension);
+		rowNorm = TargetIndex.norm(matrix, offset, dimension);
+	}
+
+	@Benchmark
+	public double pair() {
+		return strategy.calculate(query, target);
+	}
+
+	@Benchmark
+	public double row() {
+		return strategy.calculate(query, queryNorm, matrix, offset, rowNorm);
+	}
+
+}
@@ -0,0 +1,75 @@
+package ie.atu.sw;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code SimplifyLineBenchmark} class measures {@link TextSimplifier#simplifyLine}
+ * on generated sentences of 8 to 24 words, half of them target words, with capitals,
+ * punctuation and some words missing from the vocabulary.
+ * <p>
+ * {@code cached = false} measures the full search for every replaced word;
+ * {@code cached = true} measures the steady state of a long run, where a
+ * {@link ReplacementCache} answers almost every repeated word.
+ * </p>
+ *
+ * @see SyntheticEmbeddings
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SimplifyLineBenchmark {
+
+	private static final int VOCABULARY_SIZE = 50_000;
+	private static final int TARGET_COUNT = 1000;
+	private static final int SENTENCE_COUNT = 512;
+
+	@Param({ "false", "true" })
+	private boolean cached;
+
+	private TextSimplifier simplifier;
+	private SimplificationStats stats;
+	private List<String> sentences;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Map<String, float[]> embeddings = SyntheticEmbeddings.embeddings(VOCABULARY_SIZE, 50, 42);
+		simplifier = new TextSimplifier(HeapEmbeddingStore.fromMap(embeddings),
+				TargetIndex.fromMap(SyntheticEmbeddings.targets(embeddings, TARGET_COUNT)),
+				SimilarityCalculationType.COSINE.createStrategy());
+		if (cached) {
+			simplifier.setReplacementCache(new ReplacementCache(100_000));
+		}
+		sentences = SyntheticEmbeddings.sentences(VOCABULARY_SIZE, TARGET_COUNT, SENTENCE_COUNT, 7);
+		stats = new SimplificationStats();
+	}
+
+	@Benchmark
+	public String simplifyLine() {
+		String sentence = sentences.get(next);
+		next = (next + 1) % SENTENCE_COUNT;
+		return simplifier.simplifyLine(sentence, stats);
+	}
+
+}
@@ -0,0 +1,222 @@
+package ie.atu.sw;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The {@code SyntheticEmbeddings} class generates word embeddings, target lists and
+ * sentences with a fixed seed, so the benchmarks run without the real GloVe files and
+ * give the same data on every machine.
+ * <p>
+ * Words are short letter strings ({@code "a"}, {@code "b"}, ..., {@code "aa"}, ...), so
+ * their lengths resemble English words. Vector components are uniform in
+ * {@code [-1, 1)}, written with five decimals like the GloVe CSV files.
+ * </p>
+ *
+ * <h2>Running the benchmarks:</h2>
+ * <p>
+ * The {@code bench} directory is a separate source root for
+ * <a href="https://github.com/openjdk/jmh">JMH</a>. Compile it together with {@code src}
+ * against {@code jmh-core} with the {@code jmh-generator-annprocess} annotation processor,
+ * then run {@code org.openjdk.jmh.Main}, for example:
+ * </p>
+ * <pre>
+ * javac -cp jmh-core.jar:jmh-generator-annprocess.jar --add-modules jdk.incubator.vector \
+ *       -d bench-classes $(find src bench -name '*.java')
+ * java -cp bench-classes:jmh-core.jar:jopt-simple.jar:commons-math3.jar \
+ *      --add-modules jdk.incubator.vector org.openjdk.jmh.Main SimilarityBenchmark
+ * </pre>
+ * <p>
+ * {@code main} writes a synthetic embeddings file and target list for manual runs of
+ * the application.
+ * </p>
+ *
+ * @see SimilarityBenchmark
+ * @see FindClosestWordBenchmark
+ * @see SimplifyLineBenchmark
+ * @see LoadEmbeddingsBenchmark
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class SyntheticEmbeddings {
+
+	private static final String PUNCTUATION = ",.;:!?"; // Trailing punctuation of sentence words
+
+	private SyntheticEmbeddings() {
+	}
+
+	/**
+	 * Generates the word of an id: 0 is {@code "a"}, 25 is {@code "z"}, 26 is {@code "aa"}.
+	 *
+	 * @param id The word id.
+	 * @return The word.
+	 */
+	public static String word(int id) {//Big-O Notation: O(log n) - one letter per base-26 digit
+		StringBuilder word = new StringBuilder();
+		int value = id;
+		do {
+			word.append((char) ('a' + value % 26));
+			value = value / 26 - 1;
+		} while (value >= 0);
+		return word.reverse().toString();
+	}
+
+	/**
+	 * Generates a random vector.
+	 *
+	 * @param random    The source of randomness.
+	 * @param dimension The number of components.
+	 * @return A vector with components in {@code [-1, 1)}.
+	 */
+	public static float[] vector(Random random, int dimension) {//Big-O Notation: O(d)
+		float[] vector = new float[dimension];
+		for (int i = 0; i < dimension; i++) {
+			vector[i] = random.nextFloat() * 2 - 1;
+		}
+		return vector;
+	}
+
+	/**
+	 * Generates an embeddings map of the words {@code 0 .. size - 1}.
+	 *
+	 * @param size      The vocabulary size.
+	 * @param dimension The vector length.
+	 * @param seed      The random seed.
+	 * @return The embeddings, in word id order.
+	 */
+	public static Map<String, float[]> embeddings(int size, int dimension, long seed) {//Big-O Notation: O(n * d)
+		Random random = new Random(seed);
+		Map<String, float[]> embeddings = new LinkedHashMap<>(size * 2);
+		for (int id = 0; id < size; id++) {
+			embeddings.put(word(id), vector(random, dimension));
+		}
+		return embeddings;
+	}
+
+	/**
+	 * Picks target words, like the Google-1000 list, from the start of the vocabulary
+	 * (the most frequent words, as in GloVe).
+	 *
+	 * @param embeddings The vocabulary.
+	 * @param count      The number of targets.
+	 * @return The target words and their vectors.
+	 */
+	public static Map<String, float[]> targets(Map<String, float[]> embeddings, int count) {//Big-O Notation: O(t)
+		Map<String, float[]> targets = new LinkedHashMap<>(count * 2);
+		for (Map.Entry<String, float[]> entry : embeddings.entrySet()) {
+			if (targets.size() == count) {
+				break;
+			}
+			targets.put(entry.getKey(), entry.getValue());
+		}
+		return targets;
+	}
+
+	/**
+	 * Generates sentences that mix target words, other vocabulary words and unknown words,
+	 * with capitals and punctuation, roughly like prose.
+	 *
+	 * @param vocabularySize The vocabulary size the words are drawn from.
+	 * @param targetCount    The number of target words at the start of the vocabulary.
+	 * @param count          The number of sentences.
+	 * @param seed           The random seed.
+	 * @return The sentences.
+	 */
+	public static List<String> sentences(int vocabularySize, int targetCount, int count, long seed) {//Big-O Notation: O(count * words)
+		Random random = new Random(seed);
+		List<String> sentences = new ArrayList<>(count);
+		for (int s = 0; s < count; s++) {
+			StringBuilder sentence = new StringBuilder();
+			int words = 8 + random.nextInt(16);
+			for (int w = 0; w < words; w++) {
+				int roll = random.nextInt(10);
+				String word;
+				if (roll < 5) {
+					word = word(random.nextInt(targetCount)); // Half the words need no replacement
+				} else if (roll < 9) {
+					word = word(targetCount + random.nextInt(vocabularySize - targetCount));
+				} else {
+					word = "zq" + random.nextInt(1000); // Not in the vocabulary
+				}
+				if (w == 0) {
+					word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+				}
+				if (w > 0) {
+					sentence.append(' ');
+				}
+				sentence.append(word);
+				if (random.nextInt(8) == 0 || w == words - 1) {
+					sentence.append(PUNCTUATION.charAt(random.nextInt(PUNCTUATION.length())));
+				}
+			}
+			sentences.add(sentence.toString());
+		}
+		return sentences;
+	}
+
+	/**
+	 * Writes an embeddings map as a CSV file in the GloVe layout.
+	 *
+	 * @param embeddings The embeddings to write.
+	 * @param path       The file to write.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public static void writeCsv(Map<String, float[]> embeddings, Path path) throws IOException {//Big-O Notation: O(n * d)
+		try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+			StringBuilder line = new StringBuilder();
+			for (Map.Entry<String, float[]> entry : embeddings.entrySet()) {
+				line.setLength(0);
+				line.append(entry.getKey());
+				for (float value : entry.getValue()) {
+					line.append(',');
+					appendFixed(line, value);
+				}
+				line.append('\n');
+				writer.append(line);
+			}
+		}
+	}
+
+	// Appends a value with five decimals, like "%.5f" but without the formatter overhead
+	private static void appendFixed(StringBuilder out, float value) {//Big-O Notation: O(1)
+		long scaled = Math.round(Math.abs((double) value) * 100_000);
+		if (value < 0 && scaled != 0) {
+			out.append('-');
+		}
+		out.append(scaled / 100_000).append('.');
+		String decimals = Long.toString(scaled % 100_000);
+		out.append("00000", decimals.length(), 5).append(decimals);
+	}
+
+	/**
+	 * Writes a synthetic embeddings CSV file and a target word list.
+	 *
+	 * @param args The embeddings file, the target list file, and optionally the vocabulary
+	 *             size, the number of targets and the vector length.
+	 * @throws IOException If a file cannot be written.
+	 */
+	public static void main(String[] args) throws IOException {//Big-O Notation: O(n * d)
+		if (args.length < 2) {
+			System.err.println("Usage: java ie.atu.sw.SyntheticEmbeddings <embeddings file> <targets file> [words targets dimension]");
+			System.exit(1);
+		}
+		int size = args.length > 2 ? Integer.parseInt(args[2]) : 400_000;
+		int targetCount = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+		int dimension = args.length > 4 ? Integer.parseInt(args[4]) : 50;
+
+		Map<String, float[]> embeddings = embeddings(size, dimension, 42);
+		writeCsv(embeddings, Path.of(args[0]));
+		Files.write(Path.of(args[1]), targets(embeddings, targetCount).keySet());
+		System.out.println("[INFO] Wrote " + size + " embeddings and " + targetCount + " targets");
+	}
+
+}
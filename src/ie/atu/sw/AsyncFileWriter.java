@@ -0,0 +1,257 @@
+package ie.atu.sw;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The {@code AsyncFileWriter} class writes text to a file on a background thread, so the
+ * thread producing the text never waits for encoding or disk I/O.
+ * <p>
+ * Characters are collected into chunks on the calling thread. Full chunks go through a
+ * bounded queue to a writer thread, which encodes them as UTF-8 into a large direct
+ * {@link ByteBuffer} and writes that to a {@link FileChannel} whenever it fills, then
+ * hands the empty chunk back for reuse. The caller only blocks when the writer has
+ * fallen a whole queue behind.
+ * </p>
+ * <p>
+ * {@link #flush()} hands over the current chunk without waiting for it to be written;
+ * {@link #close()} waits for everything to reach the file and rethrows any error of the
+ * writer thread. Errors are also reported by the next write after they happen. The
+ * writer is meant for one producing thread.
+ * </p>
+ *
+ * @see FileAndConsoleOutput
+ * @see LineSpool
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class AsyncFileWriter extends Writer {
+
+	private static final int CHUNK_SIZE = 1 << 16; // Characters collected before handing over
+	private static final int BUFFER_SIZE = 1 << 20; // Bytes encoded before each channel write
+	private static final int QUEUE_CAPACITY = 8; // Chunks waiting for the writer thread
+	private static final CharBuffer END = CharBuffer.allocate(0); // End of output marker
+
+	private final FileChannel channel;
+	private final BlockingQueue<CharBuffer> chunks = new ArrayBlockingQueue<>(QUEUE_CAPACITY); // Filled chunks, in order
+	private final BlockingQueue<CharBuffer> freeChunks = new ArrayBlockingQueue<>(QUEUE_CAPACITY + 1); // Written chunks for reuse
+	private final Thread writerThread;
+	private volatile IOException failure; // First error of the writer thread
+	private CharBuffer chunk = CharBuffer.allocate(CHUNK_SIZE); // Chunk being filled by the caller
+	private boolean closed;
+
+	/**
+	 * Creates or replaces a file and starts its writer thread.
+	 *
+	 * @param path The file to write.
+	 * @throws IOException If the file cannot be opened.
+	 */
+	public AsyncFileWriter(Path path) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		writerThread = Thread.ofPlatform().name("file-writer").daemon(true).start(this::drain);
+	}
+
+	@Override
+	public void write(int c) throws IOException {//Big-O Notation: O(1) amortised
+		ensureOpen();
+		if (!chunk.hasRemaining()) {
+			handOver(false);
+		}
+		chunk.put((char) c);
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {//Big-O Notation: O(n) - copies the characters once
+		ensureOpen();
+		while (len > 0) {
+			int count = Math.min(len, chunk.remaining());
+			chunk.put(cbuf, off, count);
+			off += count;
+			len -= count;
+			if (!chunk.hasRemaining()) {
+				handOver(false);
+			}
+		}
+	}
+
+	@Override
+	public void write(String str, int off, int len) throws IOException {//Big-O Notation: O(n) - copies the characters once
+		ensureOpen();
+		while (len > 0) {
+			int count = Math.min(len, chunk.remaining());
+			chunk.put(str, off, off + count);
+			off += count;
+			len -= count;
+			if (!chunk.hasRemaining()) {
+				handOver(false);
+			}
+		}
+	}
+
+	/**
+	 * Hands the characters written so far to the writer thread, without waiting for
+	 * them to be written.
+	 *
+	 * @throws IOException If the writer thread has failed.
+	 */
+	@Override
+	public void flush() throws IOException {//Big-O Notation: O(1)
+		ensureOpen();
+		if (chunk.position() > 0) {
+			handOver(false);
+		}
+	}
+
+	/**
+	 * Writes everything still queued, stops the writer thread and closes the file.
+	 *
+	 * @throws IOException If any of the output could not be written.
+	 */
+	@Override
+	public void close() throws IOException {//Big-O Notation: O(q) - waits for the q queued chunks
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			try {
+				if (chunk.position() > 0 && failure == null) {
+					handOver(true);
+				}
+			} finally {
+				put(END); // Also releases a failed writer thread
+				writerThread.join();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while closing " + writerThread.getName());
+		} finally {
+			channel.close();
+		}
+		checkFailure();
+	}
+
+	// Queues the current chunk and takes an empty one, keeping a surrogate pair in one chunk
+	private void handOver(boolean last) throws IOException {//Big-O Notation: O(1)
+		checkFailure();
+		char heldBack = 0;
+		int end = chunk.position();
+		if (!last && Character.isHighSurrogate(chunk.get(end - 1))) {
+			heldBack = chunk.get(end - 1); // Its low surrogate comes with the next write
+			chunk.position(end - 1);
+		}
+		chunk.flip();
+		put(chunk);
+		CharBuffer next = freeChunks.poll();
+		chunk = next != null ? next : CharBuffer.allocate(CHUNK_SIZE);
+		if (heldBack != 0) {
+			chunk.put(heldBack);
+		}
+	}
+
+	// Queues a chunk, waiting while the writer thread is a full queue behind
+	private void put(CharBuffer buffer) throws IOException {//Big-O Notation: O(1)
+		try {
+			chunks.put(buffer);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while writing");
+		}
+	}
+
+	// Writer thread: encodes the chunks in order and writes them to the channel
+	private void drain() {//Big-O Notation: O(n) - encodes and writes every character once
+		CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		CharBuffer last = END; // Holds any unpaired surrogate left at the very end
+		try {
+			while (true) {
+				CharBuffer next = chunks.take();
+				if (next == END) {
+					break;
+				}
+				encode(encoder, next, buffer, false);
+				if (next.hasRemaining()) {
+					last = next; // Only the final chunk can end in an unpaired surrogate
+				} else {
+					next.clear();
+					freeChunks.offer(next);
+				}
+			}
+			encode(encoder, last, buffer, true);
+			while (encoder.flush(buffer).isOverflow()) {
+				writeBuffer(buffer);
+			}
+			writeBuffer(buffer);
+		} catch (IOException e) {
+			failure = e;
+			discardRemaining(); // Keep the caller from blocking on a full queue
+		} catch (InterruptedException e) {
+			failure = new InterruptedIOException("Writer thread interrupted");
+		}
+	}
+
+	// Encodes a chunk, writing the byte buffer out whenever it fills
+	private void encode(CharsetEncoder encoder, CharBuffer chars, ByteBuffer buffer, boolean endOfInput)
+			throws IOException {//Big-O Notation: O(n) - length of the chunk
+		while (true) {
+			CoderResult result = encoder.encode(chars, buffer, endOfInput);
+			if (!result.isOverflow()) {
+				return;
+			}
+			writeBuffer(buffer);
+		}
+	}
+
+	// Writes the encoded bytes to the channel and empties the buffer
+	private void writeBuffer(ByteBuffer buffer) throws IOException {//Big-O Notation: O(b) - bytes in the buffer
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	// Takes and drops chunks until the end marker after a failure
+	private void discardRemaining() {//Big-O Notation: O(q) - remaining chunks
+		try {
+			while (chunks.take() != END) {
+				// The output is already lost
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// Reports the writer thread's error to the caller
+	private void checkFailure() throws IOException {//Big-O Notation: O(1)
+		IOException e = failure;
+		if (e != null) {
+			throw new IOException("Could not write the file: " + e.getMessage(), e);
+		}
+	}
+
+	// Rejects writes after close
+	private void ensureOpen() throws IOException {//Big-O Notation: O(1)
+		if (closed) {
+			throw new IOException("Writer closed");
+		}
+	}
+
+}
@@ -0,0 +1,227 @@
+package ie.atu.sw;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * The {@code BatchSimplifier} class simplifies many text files at once, sharing one
+ * {@link TextSimplifier}, and so one loaded {@link EmbeddingStore}, {@link TargetIndex}
+ * and {@link ReplacementCache}, between all of them.
+ * <p>
+ * Each document is one task on a work-stealing {@link ForkJoinPool}: a worker reads the
+ * document, simplifies its lines and writes the result, then takes the next document.
+ * Documents of very different lengths therefore keep every worker busy, with no
+ * per-document JVM start or embeddings load. A document that cannot be read or written
+ * is reported and counted as failed without stopping the others.
+ * </p>
+ *
+ * <h2>Inputs:</h2>
+ * <ul>
+ * <li>A directory: every regular file below it.</li>
+ * <li>A glob such as {@code docs/*.txt} or {@code docs/**}{@code /*.txt}: the files below
+ * the directory part that match the rest, see {@link FileSystems#getDefault()}.</li>
+ * </ul>
+ * <p>
+ * Each output is written under the output directory at the input's path relative to the
+ * input directory, so sub-directories are kept.
+ * </p>
+ *
+ * @see CommandLineRunner
+ * @see TextSimplifier#simplifyLine(String, SimplificationStats)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class BatchSimplifier {
+
+	private static final String GLOB_CHARACTERS = "*?[{"; // Characters that make an input a glob
+
+	private final TextSimplifier simplifier; // Thread-safe through per-document statistics
+	private final int parallelism; // Number of worker threads
+
+	/**
+	 * The aggregate result of a batch.
+	 *
+	 * @param documents       The number of documents simplified.
+	 * @param failedDocuments The number of documents that could not be read or written.
+	 * @param lines           The number of lines simplified.
+	 * @param stats           The word counters of every document together.
+	 * @param nanos           The wall time of the batch.
+	 */
+	public record Summary(int documents, int failedDocuments, long lines, SimplificationStats stats, long nanos) {
+
+		/**
+		 * Formats the summary as lines of text.
+		 *
+		 * @return The counters and rates of the batch.
+		 */
+		public List<String> summaryLines() {//Big-O Notation: O(1)
+			double seconds = nanos / 1e9;
+			long tokens = stats.getWordsToSimplify() + stats.getWordsInGoogle1000() + stats.getWordsNotInEmbeddings();
+			return List.of(
+					String.format(Locale.ROOT, "Documents: %d simplified, %d failed in %.3f s (%.1f documents/s)",
+							documents, failedDocuments, seconds, seconds == 0 ? 0 : documents / seconds),
+					String.format(Locale.ROOT, "Lines: %d (%.0f lines/s), tokens: %d (%.0f tokens/s)", lines,
+							seconds == 0 ? 0 : lines / seconds, tokens, seconds == 0 ? 0 : tokens / seconds),
+					"Number of words found to simplify: " + stats.getWordsToSimplify(),
+					"Number of words already in Google-1000: " + stats.getWordsInGoogle1000(),
+					"Number of words not in embedding file: " + stats.getWordsNotInEmbeddings());
+		}
+	}
+
+	// Outcome of one document
+	private record DocumentResult(long lines, SimplificationStats stats, boolean failed) {
+	}
+
+	/**
+	 * Constructs a {@code BatchSimplifier}.
+	 *
+	 * @param simplifier  The simplifier shared by every document.
+	 * @param parallelism The number of worker threads.
+	 */
+	public BatchSimplifier(TextSimplifier simplifier, int parallelism) {
+		this.simplifier = simplifier;
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * Retrieves the directory that the files of an input pattern are relative to.
+	 *
+	 * @param pattern A directory or a glob.
+	 * @return The directory itself, or the part of the glob before its first wildcard.
+	 */
+	public static Path baseDirectory(String pattern) {//Big-O Notation: O(n) - length of the pattern
+		int wildcard = firstWildcard(pattern);
+		if (wildcard < 0) {
+			return Path.of(pattern);
+		}
+		int separator = lastSeparator(pattern, wildcard);
+		return Path.of(separator < 0 ? "." : pattern.substring(0, separator + 1));
+	}
+
+	/**
+	 * Lists the files of an input pattern.
+	 *
+	 * @param pattern A directory or a glob.
+	 * @return The matching regular files, sorted by path.
+	 * @throws IOException If the directory cannot be listed.
+	 */
+	public static List<Path> findInputs(String pattern) throws IOException {//Big-O Notation: O(f log f) - walks and sorts f files
+		Path base = baseDirectory(pattern);
+		if (!Files.isDirectory(base)) {
+			throw new IOException("Not a directory: " + base);
+		}
+		int wildcard = firstWildcard(pattern);
+		// The part of the glob after the base directory is matched against paths relative to it
+		PathMatcher matcher = wildcard < 0 ? path -> true
+				: FileSystems.getDefault().getPathMatcher("glob:" + pattern.substring(lastSeparator(pattern, wildcard) + 1));
+		try (Stream<Path> files = Files.walk(base)) {
+			return files.filter(Files::isRegularFile).filter(path -> matcher.matches(base.relativize(path))).sorted()
+					.toList();
+		}
+	}
+
+	// Index of the first glob character, or -1 for a plain path
+	private static int firstWildcard(String pattern) {//Big-O Notation: O(n) - length of the pattern
+		for (int i = 0; i < pattern.length(); i++) {
+			if (GLOB_CHARACTERS.indexOf(pattern.charAt(i)) >= 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	// Index of the last path separator before a position, or -1
+	private static int lastSeparator(String pattern, int before) {//Big-O Notation: O(n) - length of the pattern
+		return Math.max(pattern.lastIndexOf('/', before), pattern.lastIndexOf('\\', before));
+	}
+
+	/**
+	 * Simplifies every input file into the output directory.
+	 *
+	 * @param inputs          The files to simplify.
+	 * @param inputDirectory  The directory the inputs are relative to.
+	 * @param outputDirectory The directory to write the outputs to.
+	 * @return The aggregate counters and timing of the batch.
+	 */
+	public Summary run(List<Path> inputs, Path inputDirectory, Path outputDirectory) {//Big-O Notation: O(n / p) - n lines of every document spread over p workers
+		List<Callable<DocumentResult>> tasks = new ArrayList<>(inputs.size());
+		for (Path input : inputs) {
+			Path output = outputDirectory.resolve(inputDirectory.relativize(input).toString());
+			tasks.add(() -> simplifyDocument(input, output));
+		}
+
+		long start = System.nanoTime();
+		SimplificationStats totals = new SimplificationStats();
+		int documents = 0;
+		int failed = 0;
+		long lines = 0;
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			for (Future<DocumentResult> future : pool.invokeAll(tasks)) {
+				DocumentResult result = future.get(); // Rethrows any unexpected failure of a task
+				if (result.failed()) {
+					failed++;
+					continue;
+				}
+				documents++;
+				lines += result.lines();
+				totals.merge(result.stats());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+		return new Summary(documents, failed, lines, totals, System.nanoTime() - start);
+	}
+
+	/**
+	 * Reads, simplifies and writes one document.
+	 *
+	 * @param input  The text to simplify.
+	 * @param output The file to write.
+	 * @return The line count and counters of the document, or a failed result.
+	 */
+	private DocumentResult simplifyDocument(Path input, Path output) {//Big-O Notation: O(n) - every line read, simplified and written once
+		SimplificationStats stats = new SimplificationStats();
+		long lines = 0;
+		try {
+			Path parent = output.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			try (BufferedReader reader = Files.newBufferedReader(input);
+					BufferedWriter writer = Files.newBufferedWriter(output)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					writer.write(simplifier.simplifyLine(line.trim(), stats));
+					writer.newLine();
+					lines++;
+				}
+			}
+			return new DocumentResult(lines, stats, false);
+		} catch (IOException e) {
+			System.err.println("[ERROR] Could not simplify " + input + ": " + e.getMessage());
+			return new DocumentResult(0, stats, true);
+		}
+	}
+
+}
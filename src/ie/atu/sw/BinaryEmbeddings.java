@@ -0,0 +1,249 @@
+package ie.atu.sw;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@code BinaryEmbeddings} class defines a binary word embeddings file format and
+ * reads it through a memory-mapped {@link FileChannel}.
+ * <p>
+ * Parsing the CSV embeddings file on every start is slow. The binary file is written
+ * once by {@link #convert(String, String)} and then mapped read-only: the vectors are
+ * never parsed or copied onto the heap, and several JVMs on one host share the same
+ * page-cache copy of the file.
+ * </p>
+ *
+ * <h2>File Format (little-endian):</h2>
+ * <pre>
+ * header (64 bytes)  int MAGIC ("EMBB"), int VERSION, int wordCount, int dimension,
+ *                    long wordTableOffset, long vectorOffset, zero padding
+ * word table         per word: unsigned short byte length, UTF-8 bytes
+ * zero padding       up to vectorOffset, a multiple of the row size (dimension * 4 bytes)
+ * vector block       wordCount rows of dimension floats, in word table order
+ * </pre>
+ *
+ * <p>
+ * A {@code MappedByteBuffer} is limited to 2 GB, which holds about 10 million
+ * 50-dimension vectors.
+ * </p>
+ *
+ * <h2>Conversion:</h2>
+ * <pre>
+ * java ie.atu.sw.BinaryEmbeddings &lt;embeddings csv file&gt; &lt;output binary file&gt;
+ * </pre>
+ *
+ * @see EmbeddingStore
+ * @see FileParser#loadEmbeddingsFile(String)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class BinaryEmbeddings implements EmbeddingStore {
+
+	private static final int MAGIC = 0x42424D45; // "EMBB" read as a little-endian int
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 64;
+
+	private final WordIndex wordIndex; // word <-> row in the vector block
+	private final FloatBuffer vectors; // Mapped vector block
+	private final int dimension; // Length of each vector
+
+	/**
+	 * Constructs a {@code BinaryEmbeddings} over an already mapped file.
+	 *
+	 * @param wordIndex The row of each word.
+	 * @param vectors   The mapped vector block.
+	 * @param dimension The length of each vector.
+	 */
+	private BinaryEmbeddings(WordIndex wordIndex, FloatBuffer vectors, int dimension) {
+		this.wordIndex = wordIndex;
+		this.vectors = vectors;
+		this.dimension = dimension;
+	}
+
+	/**
+	 * Checks whether a file starts with the binary embeddings header.
+	 *
+	 * @param filePath The path of the file to check.
+	 * @return {@code true} if the file is in the binary format.
+	 */
+	public static boolean isBinaryFile(String filePath) {//Big-O Notation: O(1) - reads four bytes
+		try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+			ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+			return channel.read(magic, 0) == 4 && magic.getInt(0) == MAGIC;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Maps a binary embeddings file.
+	 *
+	 * @param filePath The path of the binary file.
+	 * @return The mapped embeddings.
+	 * @throws IOException If the file cannot be read or is not in the binary format.
+	 */
+	public static BinaryEmbeddings open(String filePath) throws IOException {//Big-O Notation: O(n) - decodes the word table; vectors are mapped, not read
+		try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+			// The mapping stays valid after the channel is closed
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+					.order(ByteOrder.LITTLE_ENDIAN);
+
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+				throw new IOException("Not a binary embeddings file: " + filePath);
+			}
+			int wordCount = buffer.getInt(8);
+			int dimension = buffer.getInt(12);
+			int wordTableOffset = (int) buffer.getLong(16);
+			int vectorOffset = (int) buffer.getLong(24);
+
+			String[] words = new String[wordCount];
+			int position = wordTableOffset;
+			for (int id = 0; id < wordCount; id++) {
+				int length = Short.toUnsignedInt(buffer.getShort(position));
+				byte[] bytes = new byte[length];
+				buffer.get(position + 2, bytes);
+				words[id] = new String(bytes, StandardCharsets.UTF_8);
+				position += 2 + length;
+			}
+
+			FloatBuffer vectors = buffer.slice(vectorOffset, wordCount * dimension * Float.BYTES)
+					.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+			return new BinaryEmbeddings(new WordIndex(words), vectors, dimension);
+		}
+	}
+
+	/**
+	 * Converts a CSV embeddings file into the binary format.
+	 *
+	 * @param csvFilePath    The path of the CSV embeddings file.
+	 * @param binaryFilePath The path of the binary file to write.
+	 * @throws IOException If a file cannot be read or written.
+	 */
+	public static void convert(String csvFilePath, String binaryFilePath) throws IOException {//Big-O Notation: O(n * d) - writes every word and vector once
+		FileParser fileParser = new FileParser();
+		fileParser.loadEmbeddingsFile(csvFilePath);
+		write(fileParser.getEmbeddings(), binaryFilePath);
+	}
+
+	/**
+	 * Writes an embedding store in the binary format, keeping its word ids.
+	 *
+	 * @param embeddings     The embeddings to write.
+	 * @param binaryFilePath The path of the binary file to write.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public static void write(EmbeddingStore embeddings, String binaryFilePath) throws IOException {//Big-O Notation: O(n * d) - writes every word and vector once
+		String[] words = new String[embeddings.size()];
+		for (int id = 0; id < words.length; id++) {
+			words[id] = embeddings.word(id);
+		}
+		int dimension = embeddings.getDimension();
+
+		// Encode the word table first, to know where the vector block starts
+		byte[][] encodedWords = new byte[words.length][];
+		long wordTableSize = 0;
+		for (int id = 0; id < words.length; id++) {
+			encodedWords[id] = words[id].getBytes(StandardCharsets.UTF_8);
+			wordTableSize += 2 + encodedWords[id].length;
+		}
+		long rowSize = Math.max(1, dimension * Float.BYTES);
+		long vectorOffset = (HEADER_SIZE + wordTableSize + rowSize - 1) / rowSize * rowSize;
+
+		try (OutputStream file = Files.newOutputStream(Path.of(binaryFilePath));
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			header.putInt(MAGIC).putInt(VERSION).putInt(words.length).putInt(dimension)
+					.putLong(HEADER_SIZE).putLong(vectorOffset);
+			out.write(header.array());
+
+			ByteBuffer length = ByteBuffer.allocate(2).order(ByteOrder.LITTLE_ENDIAN);
+			for (byte[] encoded : encodedWords) {
+				out.write(length.putShort(0, (short) encoded.length).array());
+				out.write(encoded);
+			}
+			out.write(new byte[(int) (vectorOffset - HEADER_SIZE - wordTableSize)]);
+
+			ByteBuffer row = ByteBuffer.allocate(dimension * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			float[] vector = new float[dimension];
+			for (int id = 0; id < words.length; id++) {
+				embeddings.vector(id, vector);
+				row.clear();
+				row.asFloatBuffer().put(vector);
+				out.write(row.array());
+			}
+		}
+	}
+
+	@Override
+	public int id(CharSequence word) {//Big-O Notation: O(l) - one probe of the word index
+		return wordIndex.id(word);
+	}
+
+	@Override
+	public String word(int id) {//Big-O Notation: O(l) - copies the characters
+		return wordIndex.word(id);
+	}
+
+	/**
+	 * Copies the vector of a word id out of the mapped file.
+	 *
+	 * @param id     The word id.
+	 * @param vector Receives the vector; at least {@link #getDimension()} long.
+	 */
+	@Override
+	public void vector(int id, float[] vector) {//Big-O Notation: O(d) - one row copy out of the mapped file
+		vectors.get(id * dimension, vector, 0, dimension);
+	}
+
+	/**
+	 * Retrieves the number of words in the file.
+	 *
+	 * @return The vocabulary size.
+	 */
+	@Override
+	public int size() {//Big-O Notation: O(1) - Retrieving stored Data
+		return wordIndex.size();
+	}
+
+	/**
+	 * Retrieves the vector length.
+	 *
+	 * @return The number of components in each vector.
+	 */
+	@Override
+	public int getDimension() {//Big-O Notation: O(1) - Retrieving stored Data
+		return dimension;
+	}
+
+	/**
+	 * One-time conversion of a CSV embeddings file into the binary format.
+	 *
+	 * @param args The CSV embeddings file and the binary file to write.
+	 */
+	public static void main(String[] args) {//Big-O Notation: O(n * d) - dominated by convert()
+		if (args.length != 2) {
+			System.err.println("Usage: java ie.atu.sw.BinaryEmbeddings <embeddings csv file> <output binary file>");
+			System.exit(1);
+		}
+		try {
+			convert(args[0], args[1]);
+			System.out.println("[INFO] Binary embeddings written to " + args[1]);
+		} catch (IOException e) {
+			System.err.println("[ERROR] Failed to convert embeddings: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+}
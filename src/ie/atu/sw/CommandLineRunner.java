@@ -0,0 +1,502 @@
+package ie.atu.sw;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The {@code CommandLineRunner} class runs the text simplifier without the interactive
+ * {@link Menu}, configured entirely by command-line arguments.
+ * <p>
+ * The embeddings and Google-1000 files are loaded once, then every input file is
+ * simplified and written with the selected {@link OutputStrategy}. With no input files,
+ * or the single input {@code -}, the simplifier runs as a Unix filter: lines are read
+ * from standard input and the simplified lines written to standard output as they are
+ * produced, through a {@link SimplificationPipeline}. In filter mode every message goes
+ * to standard error, so standard output carries only the simplified text.
+ * </p>
+ * <p>
+ * With {@code --batch} every file of a directory or glob is simplified concurrently by a
+ * {@link BatchSimplifier} into the {@code --output} directory, followed by a summary of
+ * the whole batch.
+ * </p>
+ * <p>
+ * With {@code --serve} the files are loaded once and a {@link SimplificationServer}
+ * answers HTTP requests until the process is stopped.
+ * </p>
+ * <p>
+ * With {@code --table} the replacements are read from a {@link ReplacementTable} built
+ * beforehand, instead of searching the embeddings: no embeddings or Google-1000 file is
+ * loaded, and the table must hold the replacements of the selected strategy.
+ * </p>
+ * <p>
+ * With {@code --graph} the closest words are found through an {@link HnswIndex} instead
+ * of a scan of every target. The graph is read from the file if it exists, and rejected
+ * if it was built over other targets or with another strategy; otherwise it is built
+ * and written to the file for the next run.
+ * </p>
+ *
+ * <h2>Usage:</h2>
+ * <pre>
+ * java ie.atu.sw.Runner --embeddings &lt;file&gt; --targets &lt;file&gt; [options] [input ...]
+ * java ie.atu.sw.Runner --table &lt;file&gt; [options] [input ...]
+ *
+ *   --table &lt;file&gt;        precomputed replacement table, instead of --embeddings and --targets
+ *   --strategy cosine|dot_product|euclidean|manhattan   (default: cosine)
+ *   --format text|json|ndjson                            (default: text)
+ *   --preview &lt;n&gt;         quiet text output: write the file off-thread, show n lines of each section
+ *   --output &lt;path&gt;       output file, or directory for several inputs (default: ./out.txt, ./out for a batch)
+ *   --batch &lt;dir|glob&gt;   simplify every matching file into the output directory
+ *   --parallelism &lt;n&gt;     worker threads (default: available processors)
+ *   --storage heap|quantized|off_heap                    (default: heap)
+ *   --graph &lt;file&gt;        search an HNSW graph, loaded from or built into the file
+ *   --serve &lt;port&gt;        serve HTTP requests instead of simplifying files
+ *   --bind &lt;address&gt;      address to serve on (default: 127.0.0.1)
+ *   --max-concurrent &lt;n&gt;  requests served at once before answering 503 (default: 2 x processors)
+ *   --metrics &lt;file&gt;      write the run metrics as JSON
+ *   --help
+ * </pre>
+ *
+ * <h2>Exit Status:</h2>
+ * <ul>
+ * <li>{@code 0} - all inputs simplified.</li>
+ * <li>{@code 1} - a file could not be read or written.</li>
+ * <li>{@code 2} - invalid arguments.</li>
+ * </ul>
+ *
+ * @see Runner
+ * @see Menu
+ * @see SimplificationPipeline
+ * @see BatchSimplifier
+ * @see SimplificationServer
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class CommandLineRunner {
+
+	private static final int CACHE_CAPACITY = 100_000; // Maximum cached replacements, as in Menu
+	private static final int BATCH_SIZE = 256; // Lines per pipeline batch
+	private static final int QUEUE_CAPACITY = 64; // Pipeline batches in flight
+	private static final int OUTPUT_BUFFER_SIZE = 1 << 16; // Bytes buffered before writing to stdout
+
+	private String embeddingsFilePath;
+	private String googleFilePath;
+	private String replacementTablePath; // Replaces the embeddings and Google-1000 files, may be null
+	private SimilarityCalculationType calculationType = SimilarityCalculationType.COSINE;
+	private String outputFormat = "text";
+	private int previewLines = -1; // Lines shown by a quiet text output, or -1 to show every line
+	private OutputStrategy outputStrategy; // Built from the format once every option is read
+	private String outputPath; // Defaults depend on the mode, see outputPath()
+	private String batchPattern; // Directory or glob of a batch, may be null
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	private EmbeddingStorage embeddingStorage; // Set by --storage, otherwise null for HEAP
+	private String graphFilePath; // HNSW graph to load or build, may be null
+	private String metricsFilePath; // Optional, may be null
+	private int servePort = -1; // Port of the HTTP server, or -1 when not serving
+	private String bindAddress = "127.0.0.1";
+	private int maxConcurrent = 2 * Runtime.getRuntime().availableProcessors();
+	private boolean helpRequested;
+	private final List<String> inputPaths = new ArrayList<>();
+
+	private final FileParser fileParser = new FileParser(); // Embeddings and Google-1000 words
+	private ReplacementTable replacementTable; // Loaded from replacementTablePath, otherwise null
+	private final RunMetrics metrics = new RunMetrics(); // Totals over every input of the run
+	private final ReplacementCache replacementCache = new ReplacementCache(CACHE_CAPACITY); // Shared by every input
+
+	/**
+	 * Parses the arguments and runs the simplifier.
+	 *
+	 * @param args The command-line arguments.
+	 * @return The exit status.
+	 */
+	public static int run(String[] args) {//Big-O Notation: O(n) - loads the files once, then simplifies every input
+		CommandLineRunner runner = new CommandLineRunner();
+		try {
+			runner.parseArguments(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println("[ERROR] " + e.getMessage());
+			printUsage(System.err);
+			return 2;
+		}
+		if (runner.helpRequested) {
+			printUsage(System.out);
+			return 0;
+		}
+		return runner.execute();
+	}
+
+	/**
+	 * Reads the options and input paths from the arguments.
+	 *
+	 * @param args The command-line arguments.
+	 * @throws IllegalArgumentException If an option is unknown, lacks its value or has an invalid value.
+	 */
+	private void parseArguments(String[] args) {//Big-O Notation: O(n) - one pass over the arguments
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			switch (arg) {
+			case "--embeddings" -> embeddingsFilePath = value(args, ++i, arg);
+			case "--targets" -> googleFilePath = value(args, ++i, arg);
+			case "--table" -> replacementTablePath = value(args, ++i, arg);
+			case "--strategy" -> calculationType = enumValue(SimilarityCalculationType.class, value(args, ++i, arg), arg);
+			case "--format" -> outputFormat = value(args, ++i, arg).toLowerCase(Locale.ROOT);
+			case "--preview" -> previewLines = Math.max(0, Integer.parseInt(value(args, ++i, arg)));
+			case "--output" -> outputPath = value(args, ++i, arg);
+			case "--parallelism" -> parallelism = Math.max(1, Integer.parseInt(value(args, ++i, arg)));
+			case "--storage" -> embeddingStorage = enumValue(EmbeddingStorage.class, value(args, ++i, arg), arg);
+			case "--graph" -> graphFilePath = value(args, ++i, arg);
+			case "--batch" -> batchPattern = value(args, ++i, arg);
+			case "--serve" -> servePort = Integer.parseInt(value(args, ++i, arg));
+			case "--bind" -> bindAddress = value(args, ++i, arg);
+			case "--max-concurrent" -> maxConcurrent = Math.max(1, Integer.parseInt(value(args, ++i, arg)));
+			case "--metrics" -> metricsFilePath = value(args, ++i, arg);
+			case "--help", "-h" -> helpRequested = true;
+			default -> {
+				if (arg.startsWith("--")) {
+					throw new IllegalArgumentException("Unknown option: " + arg);
+				}
+				inputPaths.add(arg);
+			}
+			}
+		}
+		if (helpRequested) {
+			return;
+		}
+		outputStrategy = switch (outputFormat) {
+		case "text" -> previewLines < 0 ? new FileAndConsoleOutput() : new FileAndConsoleOutput(previewLines);
+		case "json" -> new JsonOutputStrategy();
+		case "ndjson" -> new NdjsonOutputStrategy();
+		default -> throw new IllegalArgumentException("Unknown output format: " + outputFormat);
+		};
+		if (previewLines >= 0 && !outputFormat.equals("text")) {
+			throw new IllegalArgumentException("--preview applies to --format text only");
+		}
+		if (replacementTablePath != null) {
+			if (embeddingsFilePath != null || googleFilePath != null) {
+				throw new IllegalArgumentException("--table cannot be combined with --embeddings or --targets");
+			}
+			if (graphFilePath != null) {
+				throw new IllegalArgumentException("--graph needs the embeddings; it cannot be combined with --table");
+			}
+			if (embeddingStorage != null) {
+				throw new IllegalArgumentException("--storage applies to the embeddings; it cannot be combined with --table");
+			}
+		} else if (embeddingsFilePath == null || googleFilePath == null) {
+			throw new IllegalArgumentException("--embeddings and --targets are required, or --table");
+		}
+		if (servePort >= 0 && (batchPattern != null || !inputPaths.isEmpty())) {
+			throw new IllegalArgumentException("--serve cannot be combined with input files or --batch");
+		}
+		if (batchPattern != null && !inputPaths.isEmpty()) {
+			throw new IllegalArgumentException("--batch cannot be combined with input files");
+		}
+		if (inputPaths.contains("-") && inputPaths.size() > 1) {
+			throw new IllegalArgumentException("Standard input (-) cannot be combined with input files");
+		}
+		checkDistinctFileNames();
+	}
+
+	// Returns the value following an option
+	private static String value(String[] args, int index, String option) {//Big-O Notation: O(1)
+		if (index >= args.length) {
+			throw new IllegalArgumentException(option + " needs a value");
+		}
+		return args[index];
+	}
+
+	// Accepts "dot-product", "Dot_Product" and so on for an enum constant
+	private static <E extends Enum<E>> E enumValue(Class<E> type, String value, String option) {//Big-O Notation: O(1) - few constants
+		try {
+			return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid value for " + option + ": " + value);
+		}
+	}
+
+	/**
+	 * Loads the embeddings and Google-1000 files, then simplifies standard input or every
+	 * input file.
+	 *
+	 * @return The exit status.
+	 */
+	private int execute() {//Big-O Notation: O(n) - loads the files once, then simplifies every input
+		boolean filterMode = servePort < 0 && batchPattern == null
+				&& (inputPaths.isEmpty() || inputPaths.equals(List.of("-")));
+		PrintStream console = System.out;
+		if (filterMode) {
+			System.setOut(System.err); // Keep loading messages out of the simplified text
+		}
+		try {
+			TextSimplifier simplifier = loadSimplifier();
+			if (filterMode) {
+				simplifyStandardInput(simplifier);
+			} else if (servePort >= 0) {
+				serve(simplifier);
+			} else if (batchPattern != null) {
+				simplifyBatch(simplifier);
+			} else {
+				for (String inputPath : inputPaths) {
+					simplifyFile(simplifier, inputPath, outputPathFor(inputPath));
+				}
+			}
+			if (metricsFilePath != null) {
+				metrics.writeJson(metricsFilePath);
+			}
+			return 0;
+		} catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+			System.err.println("[ERROR] " + e.getMessage());
+			return 1;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return 1;
+		} catch (RuntimeException e) {
+			System.err.println("[ERROR] Text simplification failed: " + e.getMessage());
+			return 1;
+		} finally {
+			System.setOut(console);
+		}
+	}
+
+	/**
+	 * Loads the embeddings and Google-1000 files and builds the simplifier over them, or
+	 * loads the replacement table and builds a lookup-only simplifier.
+	 *
+	 * @return A simplifier with a replacement cache and search latency recording.
+	 * @throws IOException              If the replacement table or HNSW graph cannot be read, or
+	 *                                  the graph does not match the targets and strategy.
+	 * @throws IllegalArgumentException If the replacement table has no replacements for the strategy.
+	 */
+	private TextSimplifier loadSimplifier() throws IOException {//Big-O Notation: O(n) - reads both files, or the table, once
+		if (replacementTablePath != null) {
+			long start = System.nanoTime();
+			replacementTable = ReplacementTable.read(replacementTablePath);
+			metrics.record(RunMetrics.Phase.EMBEDDINGS, System.nanoTime() - start, replacementTable.size());
+			return new TextSimplifier(replacementTable, calculationType); // Every replacement is a lookup
+		}
+		fileParser.setEmbeddingStorage(embeddingStorage != null ? embeddingStorage : EmbeddingStorage.HEAP);
+
+		long start = System.nanoTime();
+		fileParser.loadEmbeddingsFile(embeddingsFilePath);
+		metrics.record(RunMetrics.Phase.EMBEDDINGS, System.nanoTime() - start, fileParser.getEmbeddings().size());
+		start = System.nanoTime();
+		fileParser.loadGoogleWordsFile(googleFilePath);
+		metrics.record(RunMetrics.Phase.GOOGLE_WORDS, System.nanoTime() - start, fileParser.getGoogleWordIndex().size());
+
+		TextSimplifier simplifier = new TextSimplifier(fileParser.getEmbeddings(), fileParser.getGoogleWordIndex(),
+				calculationType.createStrategy());
+		simplifier.setReplacementCache(replacementCache);
+		simplifier.setSearchLatency(metrics.getSearchLatency());
+		if (embeddingStorage == EmbeddingStorage.QUANTIZED) {
+			simplifier.setQuantizedSearch(TextSimplifier.QUANTIZED_RERANK_COUNT); // int8 pass, exact float re-rank
+		}
+		if (graphFilePath != null) {
+			boolean exists = Files.exists(Path.of(graphFilePath));
+			start = System.nanoTime();
+			simplifier.setNearestNeighbourIndex(HnswIndex.loadOrBuild(graphFilePath, fileParser.getGoogleWordIndex(),
+					calculationType.createStrategy(), HnswIndex.DEFAULT_M, HnswIndex.DEFAULT_EF_CONSTRUCTION,
+					HnswIndex.DEFAULT_EF_SEARCH));
+			System.out.printf("[INFO] %s HNSW graph %s in %.2f s%n", exists ? "Loaded" : "Built and wrote", graphFilePath,
+					(System.nanoTime() - start) / 1e9);
+		}
+		return simplifier;
+	}
+
+	/**
+	 * Streams one input file through the simplifier into the output strategy.
+	 *
+	 * @param simplifier The simplifier.
+	 * @param inputPath  The text to simplify.
+	 * @param outputPath The file to write.
+	 * @throws IOException If the input cannot be read or the output written.
+	 */
+	private void simplifyFile(TextSimplifier simplifier, String inputPath, String outputPath) throws IOException {//Big-O Notation: O(n) - every line simplified once
+		SimplificationPipeline pipeline = new SimplificationPipeline(simplifier, parallelism, BATCH_SIZE, QUEUE_CAPACITY);
+		try (OutputSink output = outputStrategy.begin(calculationType, outputPath)) {
+			long start = System.nanoTime();
+			SimplificationStats stats = pipeline.run(inputPath, output);
+			metrics.add(RunMetrics.Phase.SIMPLIFICATION, System.nanoTime() - start, tokenCount(stats));
+			metrics.recordCacheLookups(replacementCache.getHits(), replacementCache.getMisses());
+
+			start = System.nanoTime();
+			output.end(stats, metrics);
+			metrics.add(RunMetrics.Phase.OUTPUT, System.nanoTime() - start, stats.getLines());
+		}
+	}
+
+	/**
+	 * Streams standard input to standard output through the simplifier, one line out
+	 * for every line in. Output is flushed whenever the simplifier has caught up with the
+	 * input, so the filter also works interactively.
+	 *
+	 * @param simplifier The simplifier.
+	 * @throws IOException If standard input cannot be read or standard output written.
+	 */
+	private void simplifyStandardInput(TextSimplifier simplifier) throws IOException {//Big-O Notation: O(n) - every line simplified once
+		BufferedReader input = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+		// Write to the file descriptor directly rather than through the synchronized System.out
+		BufferedWriter output = new BufferedWriter(
+				new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8),
+				OUTPUT_BUFFER_SIZE);
+		SimplificationPipeline pipeline = new SimplificationPipeline(simplifier, parallelism, BATCH_SIZE, QUEUE_CAPACITY);
+
+		long[] lines = new long[1]; // Written from the pipeline's calling thread only
+		long start = System.nanoTime();
+		SimplificationStats stats = pipeline.run(input, (original, simplified) -> {
+			try {
+				output.write(simplified);
+				output.newLine();
+				lines[0]++;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, output);
+		output.flush();
+		metrics.record(RunMetrics.Phase.SIMPLIFICATION, System.nanoTime() - start, tokenCount(stats));
+		metrics.recordCacheLookups(replacementCache.getHits(), replacementCache.getMisses());
+
+		System.err.println("[INFO] Simplified " + lines[0] + " lines: " + stats.getWordsToSimplify() + " words replaced, "
+				+ stats.getWordsInGoogle1000() + " already in Google-1000, " + stats.getWordsNotInEmbeddings()
+				+ " not in embeddings");
+		for (String line : metrics.summaryLines()) {
+			System.err.println("[INFO] " + line);
+		}
+	}
+
+	/**
+	 * Serves the simplifier over HTTP until the process is stopped, e.g. by Ctrl-C or
+	 * {@code SIGTERM}, which lets requests in progress finish.
+	 *
+	 * @param simplifier The simplifier shared by every request.
+	 * @throws IOException          If the address cannot be bound.
+	 * @throws InterruptedException If the main thread is interrupted while serving.
+	 */
+	private void serve(TextSimplifier simplifier) throws IOException, InterruptedException {//Big-O Notation: O(1) - requests are handled by the server
+		SimplificationServer server = replacementTable != null
+				? new SimplificationServer(simplifier, replacementCache, metrics, replacementTable.size(),
+						replacementTable.getTargetCount(), maxConcurrent)
+				: new SimplificationServer(simplifier, replacementCache, metrics, fileParser.getEmbeddings().size(),
+						fileParser.getGoogleWordIndex().size(), maxConcurrent);
+		server.start(new InetSocketAddress(bindAddress, servePort));
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(2)));
+		MessageUtil.displayMessage("[INFO] Serving on http://" + bindAddress + ":" + server.getPort()
+				+ " (at most " + maxConcurrent + " requests at once)", ConsoleColour.BLUE_BOLD);
+		server.awaitStop();
+	}
+
+	/**
+	 * Simplifies every file of the batch pattern into the output directory and prints the
+	 * batch summary.
+	 *
+	 * @param simplifier The simplifier shared by every document.
+	 * @throws IOException If the input directory cannot be listed or the output directory created.
+	 */
+	private void simplifyBatch(TextSimplifier simplifier) throws IOException {//Big-O Notation: O(n / p) - every line of every document, spread over p workers
+		Path outputDirectory = Files.createDirectories(Path.of(outputPath()));
+		Path excluded = outputDirectory.toAbsolutePath().normalize();
+		List<Path> inputs = BatchSimplifier.findInputs(batchPattern).stream()
+				.filter(path -> !path.toAbsolutePath().normalize().startsWith(excluded)) // Earlier outputs
+				.toList();
+		MessageUtil.displayMessage("[INFO] Simplifying " + inputs.size() + " documents into " + outputDirectory,
+				ConsoleColour.BLUE_BOLD);
+
+		BatchSimplifier batch = new BatchSimplifier(simplifier, parallelism);
+		BatchSimplifier.Summary summary = batch.run(inputs, BatchSimplifier.baseDirectory(batchPattern), outputDirectory);
+		metrics.record(RunMetrics.Phase.SIMPLIFICATION, summary.nanos(), tokenCount(summary.stats()));
+		metrics.recordCacheLookups(replacementCache.getHits(), replacementCache.getMisses());
+
+		MessageUtil.displayMessage("Batch Summary", ConsoleColour.GREEN);
+		summary.summaryLines().forEach(System.out::println);
+		metrics.summaryLines().forEach(System.out::println);
+		if (summary.failedDocuments() > 0) {
+			throw new IOException(summary.failedDocuments() + " documents could not be simplified");
+		}
+	}
+
+	// Output file or directory, with the default of the mode
+	private String outputPath() {//Big-O Notation: O(1)
+		if (outputPath != null) {
+			return outputPath;
+		}
+		return batchPattern != null || inputPaths.size() > 1 ? "./out" : "./out.txt";
+	}
+
+	// Several inputs are written to one directory by file name, so their names must differ
+	private void checkDistinctFileNames() {//Big-O Notation: O(n) - one pass over the inputs
+		if (inputPaths.size() < 2) {
+			return;
+		}
+		Map<Path, String> inputsByName = new HashMap<>();
+		for (String inputPath : inputPaths) {
+			String other = inputsByName.putIfAbsent(Path.of(inputPath).getFileName(), inputPath);
+			if (other != null) {
+				throw new IllegalArgumentException("Inputs " + other + " and " + inputPath
+						+ " would both be written to " + Path.of(inputPath).getFileName()
+						+ "; simplify them separately or use --batch, which keeps sub-directories");
+			}
+		}
+	}
+
+	// With one input the output path names the file; with several it names a directory
+	private String outputPathFor(String inputPath) throws IOException {//Big-O Notation: O(1)
+		if (inputPaths.size() == 1) {
+			return outputPath();
+		}
+		Path directory = Files.createDirectories(Path.of(outputPath()));
+		return directory.resolve(Path.of(inputPath).getFileName()).toString();
+	}
+
+	// Words looked up in a run; punctuation and whitespace are not counted
+	private static long tokenCount(SimplificationStats stats) {//Big-O Notation: O(1)
+		return stats.getWordsToSimplify() + stats.getWordsInGoogle1000() + stats.getWordsNotInEmbeddings();
+	}
+
+	/**
+	 * Prints the command-line usage.
+	 *
+	 * @param out The stream to print to.
+	 */
+	private static void printUsage(PrintStream out) {//Big-O Notation: O(1)
+		out.println("""
+				Usage: java ie.atu.sw.Runner --embeddings <file> --targets <file> [options] [input ...]
+				       java ie.atu.sw.Runner --table <file> [options] [input ...]
+
+				Simplifies each input file, or standard input to standard output if no input (or -) is given.
+				With no arguments at all, the interactive menu starts instead.
+
+				Options:
+				  --embeddings <file>   word embeddings, CSV or binary (required unless --table)
+				  --targets <file>      Google-1000 word list (required unless --table)
+				  --table <file>        precomputed replacement table (java ie.atu.sw.ReplacementTable)
+				  --strategy <name>     cosine, dot_product, euclidean or manhattan (default: cosine)
+				  --format <name>       text, json or ndjson (default: text)
+				  --preview <n>         quiet text output: show only the first n lines of each section
+				  --output <path>       output file, or directory for several inputs (default: ./out.txt, ./out for a batch)
+				  --batch <dir|glob>    simplify every matching file into the output directory (quote globs)
+				  --parallelism <n>     worker threads (default: available processors)
+				  --storage <name>      heap, quantized or off_heap (default: heap)
+				  --graph <file>        search an HNSW graph, loaded from the file or built into it
+				  --serve <port>        serve HTTP requests instead of simplifying files
+				  --bind <address>      address to serve on (default: 127.0.0.1)
+				  --max-concurrent <n>  requests served at once before answering 503 (default: 2 x processors)
+				  --metrics <file>      write the run metrics as JSON
+				  --help                show this message""");
+	}
+
+}
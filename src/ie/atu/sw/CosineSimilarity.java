@@ -13,6 +13,10 @@ package ie.atu.sw;
  * similarity = dotProduct(vector1, vector2) / (||vector1|| * ||vector2||)
  * </pre>
  *
+ * <p>
+ * When both norms are precomputed, only the dot product is calculated per comparison.
+ * </p>
+ *
  * 
  * @see SimilarityStrategy
  * @see DotProductSimilarity
@@ -44,14 +48,52 @@ public class CosineSimilarity implements SimilarityStrategy {
 
 		for (int i = 0; i < vector1.length; i++) {
 			dotProduct += vector1[i] * vector2[i];
-			normVector1 += Math.pow(vector1[i], 2);
-			normVector2 += Math.pow(vector2[i], 2);
+			normVector1 += vector1[i] * vector1[i];
+			normVector2 += vector2[i] * vector2[i];
 		}
 
 		// Return cosine similarity
 		return dotProduct / (Math.sqrt(normVector1) * Math.sqrt(normVector2));
 	}
 	/**
+     * Calculates the cosine similarity between a vector and a row of a matrix.
+     *
+     * @param vector The query vector.
+     * @param matrix The row-major matrix holding the other vector.
+     * @param offset The start of the row in {@code matrix}.
+     * @return A double representing the cosine similarity score.
+     */
+	@Override
+	public double calculate(float[] vector, float[] matrix, int offset) {//Big-O Notation: O(n) - single pass over the row
+		double dotProduct = 0.0;
+		double normVector1 = 0.0;
+		double normVector2 = 0.0;
+
+		for (int i = 0; i < vector.length; i++) {
+			float other = matrix[offset + i];
+			dotProduct += vector[i] * other;
+			normVector1 += vector[i] * vector[i];
+			normVector2 += other * other;
+		}
+
+		return dotProduct / (Math.sqrt(normVector1) * Math.sqrt(normVector2));
+	}
+	/**
+     * Calculates the cosine similarity using precomputed norms, so only the dot
+     * product is calculated.
+     *
+     * @param vector     The query vector.
+     * @param vectorNorm The L2 norm of {@code vector}.
+     * @param matrix     The row-major matrix holding the other vector.
+     * @param offset     The start of the row in {@code matrix}.
+     * @param rowNorm    The L2 norm of the row.
+     * @return A double representing the cosine similarity score.
+     */
+	@Override
+	public double calculate(float[] vector, double vectorNorm, float[] matrix, int offset, double rowNorm) {//Big-O Notation: O(n) - one dot product
+		return DotProductSimilarity.dot(vector, matrix, offset) / (vectorNorm * rowNorm);
+	}
+	/**
      * Retrieves the type of similarity calculation implemented.
      *
      * @return {@link SimilarityCalculationType#COSINE}.
@@ -40,6 +40,37 @@ public class DotProductSimilarity implements SimilarityStrategy {
             dotProduct += vector1[i] * vector2[i];
         }
         
+        return dotProduct;
+    }
+	/**
+     * Calculates the dot product between a vector and a row of a matrix.
+     *
+     * @param vector The query vector.
+     * @param matrix The row-major matrix holding the other vector.
+     * @param offset The start of the row in {@code matrix}.
+     * @return A double representing the dot product score.
+     */
+	@Override
+    public double calculate(float[] vector, float[] matrix, int offset) {//Big-O Notation: O(n) - single pass over the row
+        return dot(vector, matrix, offset);
+    }
+
+	/**
+     * Calculates the dot product between a vector and a row of a matrix. Shared with the
+     * strategies that reduce to a dot product once norms are known.
+     *
+     * @param vector The query vector.
+     * @param matrix The row-major matrix holding the other vector.
+     * @param offset The start of the row in {@code matrix}.
+     * @return The dot product.
+     */
+	static double dot(float[] vector, float[] matrix, int offset) {//Big-O Notation: O(n) - single pass over the row
+        double dotProduct = 0.0;
+
+        for (int i = 0; i < vector.length; i++) {
+            dotProduct += vector[i] * matrix[offset + i];
+        }
+
         return dotProduct;
     }
 	/**
@@ -0,0 +1,48 @@
+package ie.atu.sw;
+/**
+ * The {@code EmbeddingStorage} enum defines how {@link FileParser} keeps the embeddings
+ * of a CSV file in memory once they are parsed.
+ *
+ * <h2>Available Storage:</h2>
+ * <ul>
+ * <li>{@link #HEAP}: every vector in one contiguous {@code float[]} on the heap, found
+ * through a {@link WordIndex}, see {@link HeapEmbeddingStore}.</li>
+ * <li>{@link #QUANTIZED}: one int8 code per component plus a scale per word, see
+ * {@link QuantizedEmbeddings}; about a quarter of the vector memory.</li>
+ * <li>{@link #OFF_HEAP}: all vectors in one direct buffer outside the Java heap, see
+ * {@link OffHeapEmbeddings}.</li>
+ * </ul>
+ *
+ * @see FileParser#setEmbeddingStorage(EmbeddingStorage)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public enum EmbeddingStorage {
+
+	HEAP("Heap float vectors"),
+	QUANTIZED("Int8 quantized vectors"),
+	OFF_HEAP("Off-heap float vectors");
+
+	private final String description;
+
+	/**
+	 * Constructs an {@code EmbeddingStorage} with a specific description.
+	 *
+	 * @param description The description of the storage.
+	 */
+	EmbeddingStorage(String description) {
+		this.description = description;
+	}
+
+	/**
+	 * Retrieves the description of the storage.
+	 *
+	 * @return The description.
+	 */
+	public String getDescription() {//Big-O Notation: O(1) - Retrieving stored Data
+		return description;
+	}
+
+}
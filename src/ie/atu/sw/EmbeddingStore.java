@@ -0,0 +1,117 @@
+package ie.atu.sw;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The {@code EmbeddingStore} interface is a read-only vocabulary of word vectors, each
+ * word identified by a dense id from {@code 0} to {@code size() - 1}.
+ * <p>
+ * The simplifier only needs to look a word up, read its vector and pack the target words
+ * into a {@link TargetIndex}; how the vectors are held is up to the implementation.
+ * </p>
+ *
+ * <h2>Implementations:</h2>
+ * <ul>
+ * <li>{@link HeapEmbeddingStore}: one contiguous vector block on the heap (the default).</li>
+ * <li>{@link BinaryEmbeddings}: vectors in a memory-mapped file.</li>
+ * <li>{@link OffHeapEmbeddings}: vectors in a direct buffer outside the heap.</li>
+ * <li>{@link QuantizedEmbeddings}: int8 codes with a scale per vector.</li>
+ * </ul>
+ *
+ * @see FileParser#getEmbeddings()
+ * @see TextSimplifier
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public interface EmbeddingStore {
+
+	/**
+	 * Looks up the id of a word.
+	 *
+	 * @param word The word, a {@code String} or a {@link TokenSlice}.
+	 * @return The id of the word, or {@code -1} if it is not stored.
+	 */
+	int id(CharSequence word);
+
+	/**
+	 * Retrieves the word with a given id.
+	 *
+	 * @param id The word id.
+	 * @return The word.
+	 */
+	String word(int id);
+
+	/**
+	 * Copies the vector of a word id into a caller-owned array.
+	 *
+	 * @param id     The word id.
+	 * @param vector Receives the vector; at least {@link #getDimension()} long.
+	 */
+	void vector(int id, float[] vector);
+
+	/**
+	 * Retrieves the number of stored words.
+	 *
+	 * @return The vocabulary size.
+	 */
+	int size();
+
+	/**
+	 * Retrieves the length of each vector.
+	 *
+	 * @return The number of components per vector.
+	 */
+	int getDimension();
+
+	/**
+	 * Checks whether a word is stored.
+	 *
+	 * @param word The word, a {@code String} or a {@link TokenSlice}.
+	 * @return {@code true} if the word has a vector.
+	 */
+	default boolean contains(CharSequence word) {//Big-O Notation: O(1) - one id lookup
+		return id(word) >= 0;
+	}
+
+	/**
+	 * Retrieves a copy of the vector of a word. Each call returns a new array owned by the
+	 * caller, which may modify it; use {@link #vector(int, float[])} to reuse an array.
+	 *
+	 * @param word The word, a {@code String} or a {@link TokenSlice}.
+	 * @return The vector, or {@code null} if the word is not stored.
+	 */
+	default float[] get(CharSequence word) {//Big-O Notation: O(d) - one id lookup and a row copy
+		int id = id(word);
+		if (id < 0) {
+			return null;
+		}
+		float[] vector = new float[getDimension()];
+		vector(id, vector);
+		return vector;
+	}
+
+	/**
+	 * Packs the vectors of a set of words into one contiguous target matrix. Words that
+	 * are not stored are skipped.
+	 *
+	 * @param words The target words, in the row order wanted.
+	 * @return A {@link TargetIndex} over the stored words.
+	 */
+	default TargetIndex targetIndex(Collection<String> words) {//Big-O Notation: O(t * d) - one copy per target
+		List<String> targetWords = new ArrayList<>(words.size());
+		List<float[]> vectors = new ArrayList<>(words.size());
+		for (String word : words) {
+			float[] vector = get(word);
+			if (vector != null) {
+				targetWords.add(word);
+				vectors.add(vector);
+			}
+		}
+		return new TargetIndex(targetWords, vectors, getDimension());
+	}
+
+}
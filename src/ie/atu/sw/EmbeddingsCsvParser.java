@@ -0,0 +1,479 @@
+package ie.atu.sw;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code EmbeddingsCsvParser} class parses a CSV word embeddings file in parallel,
+ * one byte-range chunk per worker.
+ * <p>
+ * The file is split into roughly equal chunks whose boundaries are moved forward to the
+ * next newline, so that no line is split between two workers. Each worker memory-maps its
+ * chunk and scans the bytes directly. Floats are parsed from the bytes without creating
+ * intermediate strings; the only object created per line is the word {@code String}.
+ * </p>
+ * <p>
+ * Parsing takes two passes over the mapped chunks. The first counts the lines each chunk
+ * keeps, which sizes one vector block for the whole file and gives every chunk its own
+ * range of rows in it. The second parses each chunk straight into its rows, so the block
+ * of the {@link HeapEmbeddingStore} is the only copy of the vectors ever held: there is no
+ * intermediate map, no {@code float[]} per word and no merge copy.
+ * </p>
+ * <p>
+ * With a vocabulary set by {@link #setVocabulary(WordIndex)}, only the listed words are
+ * kept. The leading word of each line is checked in place, before any float is parsed
+ * or any object is created, so unwanted lines cost little more than a scan for the newline.
+ * </p>
+ *
+ * <h2>Line Format:</h2>
+ * <pre>
+ * word,v1,v2,...,vN
+ * </pre>
+ *
+ * @see FileParser#loadEmbeddingsFile(String)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class EmbeddingsCsvParser {
+
+	private static final long MAX_CHUNK_SIZE = Integer.MAX_VALUE; // A MappedByteBuffer holds at most 2 GB
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 }; // Exactly representable as doubles
+
+	private final int vectorLength; // Number of floats per line
+	private final int parallelism; // Number of worker threads
+
+	private final AtomicInteger lineCount = new AtomicInteger(); // Lines parsed successfully
+	private final AtomicInteger duplicates = new AtomicInteger(); // Words seen more than once
+	private final AtomicInteger malformed = new AtomicInteger(); // Lines that could not be parsed
+	private final AtomicInteger skipped = new AtomicInteger(); // Lines whose word is not in the vocabulary
+
+	private WordIndex vocabulary; // Words to keep, or null to keep every word
+
+	/**
+	 * Constructs an {@code EmbeddingsCsvParser}.
+	 *
+	 * @param vectorLength The number of floats following each word.
+	 * @param parallelism  The number of worker threads.
+	 */
+	public EmbeddingsCsvParser(int vectorLength, int parallelism) {
+		this.vectorLength = vectorLength;
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * Restricts parsing to a set of words; every other line is skipped without parsing.
+	 *
+	 * @param vocabulary The words to keep, or {@code null} to keep every word.
+	 */
+	public void setVocabulary(WordIndex vocabulary) {//Big-O Notation: O(1) - assigns a field
+		this.vocabulary = vocabulary;
+	}
+
+	/**
+	 * Parses a CSV embeddings file into a {@link HeapEmbeddingStore}. If a word appears
+	 * more than once, its last line in the file wins.
+	 *
+	 * @param filePath The path of the embeddings file.
+	 * @return The store holding every kept word, in file order.
+	 * @throws IOException If the file cannot be read, or holds too many vectors for one array.
+	 */
+	public HeapEmbeddingStore parse(String filePath) throws IOException {//Big-O Notation: O(n / p) - n bytes spread over p workers, scanned twice
+		try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ);
+				ExecutorService workers = Executors.newFixedThreadPool(parallelism)) {
+
+			List<MappedByteBuffer> chunks = new ArrayList<>();
+			long[] boundaries = chunkBoundaries(channel);
+			for (int i = 0; i + 1 < boundaries.length; i++) {
+				if (boundaries[i + 1] > boundaries[i]) {
+					chunks.add(channel.map(FileChannel.MapMode.READ_ONLY, boundaries[i], boundaries[i + 1] - boundaries[i]));
+				}
+			}
+
+			// First pass: count the rows of each chunk, which places every chunk in the block
+			List<Future<Integer>> counts = new ArrayList<>();
+			for (MappedByteBuffer chunk : chunks) {
+				counts.add(workers.submit(() -> parseChunk(chunk, null, null, 0)));
+			}
+			int[] firstRows = new int[chunks.size()];
+			long rows = 0;
+			for (int i = 0; i < chunks.size(); i++) {
+				firstRows[i] = (int) rows;
+				rows += counts.get(i).get(); // Rethrows any failure of a worker
+			}
+			if (rows * vectorLength > Integer.MAX_VALUE - 8) {
+				throw new IOException(rows + " vectors of " + vectorLength + " floats do not fit in one array; "
+						+ "convert the file with BinaryEmbeddings instead");
+			}
+
+			// Second pass: parse every chunk straight into its own rows
+			String[] words = new String[(int) rows];
+			float[] vectors = new float[(int) rows * vectorLength];
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int i = 0; i < chunks.size(); i++) {
+				MappedByteBuffer chunk = chunks.get(i);
+				int firstRow = firstRows[i];
+				results.add(workers.submit(() -> parseChunk(chunk, words, vectors, firstRow)));
+			}
+			for (Future<Integer> result : results) {
+				result.get();
+			}
+			return freeze(words, vectors);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Embeddings loading interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IOException(e.getCause());
+		}
+	}
+
+	// Moves the rows of malformed lines and of words that appear again later out of the block, then indexes the words
+	private HeapEmbeddingStore freeze(String[] words, float[] vectors) {//Big-O Notation: O(n * d) - at most two passes over the rows
+		int rows = 0;
+		for (int row = 0; row < words.length; row++) {
+			if (words[row] != null) {
+				moveRow(words, vectors, row, rows++);
+			}
+		}
+
+		WordIndex wordIndex = new WordIndex(Arrays.copyOf(words, rows)); // The last row of a word wins
+		int unique = 0;
+		for (int row = 0; row < rows; row++) {
+			if (wordIndex.id(words[row]) == row) {
+				moveRow(words, vectors, row, unique++);
+			}
+		}
+		if (unique < rows) {
+			duplicates.set(rows - unique);
+			wordIndex = new WordIndex(Arrays.copyOf(words, unique));
+		}
+		return HeapEmbeddingStore.fromBlock(wordIndex, vectors, vectorLength); // Rows past the last word are unused
+	}
+
+	// Moves a row down the block, keeping its word with it
+	private void moveRow(String[] words, float[] vectors, int from, int to) {//Big-O Notation: O(d) - one row copy
+		if (from != to) {
+			words[to] = words[from];
+			System.arraycopy(vectors, from * vectorLength, vectors, to * vectorLength, vectorLength);
+		}
+	}
+
+	// Splits the file into chunks, moving every boundary to the start of the next line
+	private long[] chunkBoundaries(FileChannel channel) throws IOException {//Big-O Notation: O(c * l) - c chunks, scans at most one line each
+		long size = channel.size();
+		int chunks = (int) Math.max(parallelism * 4L, size / MAX_CHUNK_SIZE + 1);
+		long[] boundaries = new long[chunks + 1];
+		boundaries[chunks] = size;
+
+		ByteBuffer buffer = ByteBuffer.allocate(4096);
+		for (int i = 1; i < chunks; i++) {
+			long position = Math.max(boundaries[i - 1], size / chunks * i);
+			boundaries[i] = nextLineStart(channel, position, buffer);
+		}
+		return boundaries;
+	}
+
+	// Finds the position just after the next newline at or after position
+	private static long nextLineStart(FileChannel channel, long position, ByteBuffer buffer) throws IOException {//Big-O Notation: O(l) - scans to the end of one line
+		long size = channel.size();
+		while (position < size) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				if (buffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+
+	// Worker: parses every line of one chunk into the rows from firstRow on, or only counts them if words is null
+	private int parseChunk(ByteBuffer chunk, String[] words, float[] vectors, int firstRow) {//Big-O Notation: O(n) - every byte of the chunk read once
+		byte[] wordBytes = new byte[256]; // Reused for every word of this chunk
+		AsciiSlice leadingWord = new AsciiSlice(chunk); // Reused for every vocabulary check
+		int limit = chunk.limit();
+		int position = 0;
+		int row = firstRow;
+
+		while (position < limit) {
+			int lineEnd = position;
+			while (lineEnd < limit && chunk.get(lineEnd) != '\n') {
+				lineEnd++;
+			}
+			int end = lineEnd;
+			while (end > position && isSpace(chunk.get(end - 1))) {
+				end--; // Trailing whitespace, including '\r'
+			}
+			while (position < end && isSpace(chunk.get(position))) {
+				position++; // Leading whitespace
+			}
+
+			if (position < end && parseLine(chunk, position, end, wordBytes, leadingWord, words, vectors, row)) {
+				row++;
+			}
+			position = lineEnd + 1;
+		}
+		return row - firstRow;
+	}
+
+	// Parses "word,v1,...,vN" between start and end into a row; returns whether the line takes a row.
+	// With words null it only decides that, which both passes must do alike. A malformed line leaves its row empty.
+	private boolean parseLine(ByteBuffer chunk, int start, int end, byte[] wordBytes, AsciiSlice leadingWord,
+			String[] words, float[] vectors, int row) {//Big-O Notation: O(l) - single pass over the line
+		boolean counting = words == null;
+		int comma = start;
+		boolean ascii = true;
+		while (comma < end && chunk.get(comma) != ',') {
+			ascii &= chunk.get(comma) >= 0;
+			comma++;
+		}
+
+		if (vocabulary != null && ascii && !vocabulary.contains(leadingWord.set(start, comma))) {
+			if (!counting) {
+				skipped.incrementAndGet(); // Pre-filter: rejected before decoding the word or parsing floats
+			}
+			return false;
+		}
+		if (counting && (vocabulary == null || ascii)) {
+			return true;
+		}
+
+		int wordLength = comma - start;
+		if (wordLength > wordBytes.length) {
+			wordBytes = new byte[wordLength];
+		}
+		chunk.get(start, wordBytes, 0, wordLength);
+		String word = new String(wordBytes, 0, wordLength,
+				ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8); // Latin-1 is a plain copy for ASCII
+		if (vocabulary != null && !ascii && !vocabulary.contains(word)) {
+			if (!counting) {
+				skipped.incrementAndGet();
+			}
+			return false;
+		}
+		if (counting) {
+			return true;
+		}
+
+		int rowStart = row * vectorLength;
+		int position = comma + 1;
+		for (int i = 0; i < vectorLength; i++) {
+			int fieldEnd = position;
+			while (fieldEnd < end && chunk.get(fieldEnd) != ',') {
+				fieldEnd++;
+			}
+			if (position > end || !parseFloat(chunk, position, fieldEnd, vectors, rowStart + i)) {
+				System.err.println("[ERROR] Malformed vector for word: " + word);
+				malformed.incrementAndGet();
+				return true; // The row stays empty and is dropped when the block is frozen
+			}
+			position = fieldEnd + 1;
+		}
+
+		words[row] = word;
+		lineCount.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Parses a decimal float such as {@code -0.41800} or {@code 1.5e-3} from bytes,
+	 * without allocating. Falls back to {@link Float#parseFloat(String)} for numbers
+	 * with more than 18 significant digits or very large exponents.
+	 */
+	private static boolean parseFloat(ByteBuffer chunk, int start, int end, float[] vector, int index) {//Big-O Notation: O(l) - single pass over the field
+		while (start < end && isSpace(chunk.get(start))) {
+			start++;
+		}
+		while (end > start && isSpace(chunk.get(end - 1))) {
+			end--;
+		}
+		if (start == end) {
+			return false;
+		}
+
+		int position = start;
+		boolean negative = false;
+		byte current = chunk.get(position);
+		if (current == '-' || current == '+') {
+			negative = current == '-';
+			position++;
+		}
+
+		long mantissa = 0;
+		int digits = 0; // Significant digits kept in the mantissa
+		int exponent = 0; // Power of ten applied to the mantissa
+		boolean seenDigit = false;
+		boolean seenPoint = false;
+
+		for (; position < end; position++) {
+			current = chunk.get(position);
+			if (current >= '0' && current <= '9') {
+				seenDigit = true;
+				if (digits < 18) {
+					mantissa = mantissa * 10 + (current - '0');
+					if (mantissa != 0) {
+						digits++;
+					}
+					if (seenPoint) {
+						exponent--;
+					}
+				} else {
+					return parseFloatSlow(chunk, start, end, vector, index);
+				}
+			} else if (current == '.' && !seenPoint) {
+				seenPoint = true;
+			} else {
+				break;
+			}
+		}
+		if (!seenDigit) {
+			return false;
+		}
+
+		if (position < end && (current == 'e' || current == 'E')) {
+			position++;
+			boolean negativeExponent = false;
+			if (position < end && (chunk.get(position) == '-' || chunk.get(position) == '+')) {
+				negativeExponent = chunk.get(position) == '-';
+				position++;
+			}
+			int explicitExponent = 0;
+			int exponentStart = position;
+			for (; position < end && chunk.get(position) >= '0' && chunk.get(position) <= '9'; position++) {
+				explicitExponent = Math.min(explicitExponent * 10 + (chunk.get(position) - '0'), 1000);
+			}
+			if (position == exponentStart) {
+				return false;
+			}
+			exponent += negativeExponent ? -explicitExponent : explicitExponent;
+		}
+		if (position != end) {
+			return false; // Trailing characters
+		}
+
+		if (exponent < -22 || exponent > 22 || mantissa > (1L << 53)) {
+			return parseFloatSlow(chunk, start, end, vector, index);
+		}
+
+		// Both operands are exact doubles, so the result is correctly rounded
+		double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+		vector[index] = (float) (negative ? -value : value);
+		return true;
+	}
+
+	// Rare path: hands the field to Float.parseFloat
+	private static boolean parseFloatSlow(ByteBuffer chunk, int start, int end, float[] vector, int index) {//Big-O Notation: O(l)
+		byte[] bytes = new byte[end - start];
+		chunk.get(start, bytes);
+		try {
+			vector[index] = Float.parseFloat(new String(bytes, StandardCharsets.ISO_8859_1));
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private static boolean isSpace(byte b) {//Big-O Notation: O(1)
+		return b == ' ' || b == '\t' || b == '\r';
+	}
+
+	/**
+	 * Retrieves the number of lines parsed successfully.
+	 *
+	 * @return The processed line count.
+	 */
+	public int getLineCount() {//Big-O Notation: O(1) - Retrieving stored Data
+		return lineCount.get();
+	}
+
+	/**
+	 * Retrieves the number of lines dropped because their word appears again later.
+	 *
+	 * @return The duplicate count.
+	 */
+	public int getDuplicates() {//Big-O Notation: O(1) - Retrieving stored Data
+		return duplicates.get();
+	}
+
+	/**
+	 * Retrieves the number of lines that could not be parsed.
+	 *
+	 * @return The malformed line count.
+	 */
+	public int getMalformed() {//Big-O Notation: O(1) - Retrieving stored Data
+		return malformed.get();
+	}
+
+	/**
+	 * Retrieves the number of lines skipped because their word is not in the vocabulary.
+	 *
+	 * @return The skipped line count.
+	 */
+	public int getSkipped() {//Big-O Notation: O(1) - Retrieving stored Data
+		return skipped.get();
+	}
+
+	/**
+	 * A reusable view of an ASCII word inside a chunk, so it can be looked up in a
+	 * {@link WordIndex} without creating a {@code String}.
+	 */
+	private static class AsciiSlice implements CharSequence {
+
+		private final ByteBuffer chunk;
+		private int start;
+		private int end;
+
+		AsciiSlice(ByteBuffer chunk) {
+			this.chunk = chunk;
+		}
+
+		AsciiSlice set(int start, int end) {
+			this.start = start;
+			this.end = end;
+			return this;
+		}
+
+		@Override
+		public int length() {
+			return end - start;
+		}
+
+		@Override
+		public char charAt(int index) {
+			return (char) chunk.get(start + index);
+		}
+
+		@Override
+		public CharSequence subSequence(int from, int to) {
+			return toString().substring(from, to);
+		}
+
+		@Override
+		public String toString() {
+			byte[] bytes = new byte[end - start];
+			chunk.get(start, bytes);
+			return new String(bytes, StandardCharsets.ISO_8859_1);
+		}
+	}
+
+}
@@ -11,6 +11,11 @@ package ie.atu.sw;
  * similarity = sqrt(sum((vector1[i] - vector2[i])^2)) for all i
  * </pre>
  *
+ * <p>
+ * When both norms are precomputed, the squared distance is expanded to
+ * {@code ||a||^2 + ||b||^2 - 2 a.b}, so only the dot product is calculated per comparison.
+ * </p>
+ *
  * 
  *
  * @see SimilarityStrategy
@@ -37,12 +42,47 @@ public class EuclideanDistanceSimilarity implements SimilarityStrategy {
 	public double calculate(float[] vector1, float[] vector2) {//Big-O Notation: O(n) -  Iterates through the dimensions of the vectors once to compute the squared difference
 		double sum = 0.0;
 		for (int i = 0; i < vector1.length; i++) {
-			sum += Math.pow(vector1[i] - vector2[i], 2);
+			double difference = vector1[i] - vector2[i];
+			sum += difference * difference;
 		}
 
 		return -Math.sqrt(sum);// Return negative for consistency (higher is better)
 	}
 	/**
+     * Calculates the Euclidean distance between a vector and a row of a matrix.
+     *
+     * @param vector The query vector.
+     * @param matrix The row-major matrix holding the other vector.
+     * @param offset The start of the row in {@code matrix}.
+     * @return A double representing the negated Euclidean distance.
+     */
+	@Override
+	public double calculate(float[] vector, float[] matrix, int offset) {//Big-O Notation: O(n) - single pass over the row
+		double sum = 0.0;
+		for (int i = 0; i < vector.length; i++) {
+			double difference = vector[i] - matrix[offset + i];
+			sum += difference * difference;
+		}
+
+		return -Math.sqrt(sum);// Return negative for consistency (higher is better)
+	}
+	/**
+     * Calculates the Euclidean distance using precomputed norms, so only the dot
+     * product is calculated.
+     *
+     * @param vector     The query vector.
+     * @param vectorNorm The L2 norm of {@code vector}.
+     * @param matrix     The row-major matrix holding the other vector.
+     * @param offset     The start of the row in {@code matrix}.
+     * @param rowNorm    The L2 norm of the row.
+     * @return A double representing the negated Euclidean distance.
+     */
+	@Override
+	public double calculate(float[] vector, double vectorNorm, float[] matrix, int offset, double rowNorm) {//Big-O Notation: O(n) - one dot product
+		double squared = vectorNorm * vectorNorm + rowNorm * rowNorm - 2 * DotProductSimilarity.dot(vector, matrix, offset);
+		return -Math.sqrt(Math.max(squared, 0.0)); // Clamp rounding error for near-identical vectors
+	}
+	/**
      * Retrieves the type of similarity calculation implemented.
      *
      * @return {@link SimilarityCalculationType#EUCLIDEAN}.
@@ -1,8 +1,11 @@
 package ie.atu.sw;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
 
 
 /**
@@ -11,13 +14,21 @@ import java.io.IOException;
  * 
  * <p>The output includes:
  * <ul>
- * <li>Input and simplified text with formatted headers</li>
+ * <li>Input and simplified text with formatted headers, streamed line by line</li>
  * <li>Similarity method used for processing</li>
  * <li>Statistical summary of word processing</li>
+ * <li>Phase timings and throughput of the run, when given</li>
  * </ul>
  * 
+ * <p>For large files, a quiet output ({@link #quiet()}) writes only to the file, through
+ * a large direct buffer on its own thread, and shows just a preview of each section and
+ * the summaries, so console rendering does not slow the run down.
+ * </p>
+ * 
  * @see OutputStrategy
+ * @see OutputSink
  * @see MessageUtil
+ * @see AsyncFileWriter
  * 
  * @author Declan O'Meara
  * @version 1.0
@@ -25,54 +36,151 @@ import java.io.IOException;
  * 
  */
 public class FileAndConsoleOutput implements OutputStrategy {
+
+	/**
+	 * The number of lines of each section shown by {@link #quiet()}.
+	 */
+	public static final int DEFAULT_PREVIEW_LINES = 10;
+
+	private final int previewLines; // Lines of each section shown on the console, or -1 for all
+
+	/**
+	 * Constructs a {@code FileAndConsoleOutput} that shows the whole input and simplified
+	 * text on the console.
+	 */
+	public FileAndConsoleOutput() {
+		this.previewLines = -1;
+	}
+
+	/**
+	 * Constructs a quiet {@code FileAndConsoleOutput} for large runs. The file is written
+	 * by an {@link AsyncFileWriter}, off the simplifying thread, and the console shows only
+	 * the first lines of each section and the summaries.
+	 *
+	 * @param previewLines The number of lines of each section to show; {@code 0} for none.
+	 */
+	public FileAndConsoleOutput(int previewLines) {
+		this.previewLines = Math.max(0, previewLines);
+	}
+
+	/**
+	 * Creates a quiet output with a preview of {@value #DEFAULT_PREVIEW_LINES} lines.
+	 *
+	 * @return The output strategy.
+	 * @see #FileAndConsoleOutput(int)
+	 */
+	public static FileAndConsoleOutput quiet() {//Big-O Notation: O(1)
+		return new FileAndConsoleOutput(DEFAULT_PREVIEW_LINES);
+	}
 	
 	 /**
-     * Outputs the text simplification results to both console and file.
-     * Formats the output with headers and statistical summary.
+     * Starts the output of a run to both console and file. Input lines are printed and
+     * written as they arrive; simplified lines are held in a {@link LineSpool} until the
+     * input section is complete. A quiet output prints only the first lines of each
+     * section.
      * 
-     * @param inputText          The original input text
-     * @param simplifiedText     The simplified version of the text
      * @param similarityMethod   The similarity calculation method used
-     * @param wordsToSimplify    Count of words that needed simplification
-     * @param wordsInGoogle1000  Count of words found in Google-1000
-     * @param wordsNotInEmbeding Count of words not found in embeddings
      * @param outputFilePath     Path to output file
+     * @return A sink for the lines of the run
+     * @throws IOException if the file cannot be opened
      */
 	@Override
-	public void outputResult(String inputText, String simplifiedText, SimilarityCalculationType similarityMethod,
-			int wordsToSimplify, int wordsInGoogle1000, int wordsNotInEmbeding, String outputFilePath) {//Big-O Notation: O(n) Processes strings and writes them to a file line by line
-
-		try (BufferedWriter bw = new BufferedWriter(new FileWriter(outputFilePath))) {
-
+	public OutputSink begin(SimilarityCalculationType similarityMethod, String outputFilePath) throws IOException {//Big-O Notation: O(1) - opens the file and prints the headers
+		Writer bw = previewLines < 0 ? new BufferedWriter(new FileWriter(outputFilePath))
+				: new AsyncFileWriter(Path.of(outputFilePath));
+		try {
 			// Print headers
 			printConsoleAndFileHeader(bw, similarityMethod);
 
-			// Output the input and simplified text
 			System.out.println("Input Text:");
 			System.out.println(MessageUtil.paddingHeaderHelper("Input Text:"));
-			System.out.println(inputText);
-			System.out.println();
+			bw.write("Input Text:\n" + MessageUtil.paddingHeaderHelper("Input Text:") + "\n ");
+			return new Sink(bw, new LineSpool(), outputFilePath);
+		} catch (IOException | RuntimeException e) {
+			bw.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes the lines of one run: the input section as it arrives, then the simplified
+	 * section and the summaries once the run ends.
+	 */
+	private class Sink implements OutputSink {
+
+		private final Writer bw; // The output file
+		private final LineSpool simplifiedLines; // Held until the input section is complete
+		private final String outputFilePath;
+		private long sectionLines; // Lines written to the current section so far
+
+		Sink(Writer bw, LineSpool simplifiedLines, String outputFilePath) {
+			this.bw = bw;
+			this.simplifiedLines = simplifiedLines;
+			this.outputFilePath = outputFilePath;
+		}
+
+		@Override
+		public void line(String original, String simplified) throws IOException {//Big-O Notation: O(n) - length of the line
+			writeLine(original);
+			simplifiedLines.add(simplified);
+		}
+
+		@Override
+		public void end(SimplificationStats stats, RunMetrics metrics) throws IOException {//Big-O Notation: O(n) - every simplified line read back once
+			endSection();
 
 			System.out.println("Simplified Text:");
 			System.out.println(MessageUtil.paddingHeaderHelper("Simplified Text:"));
-			System.out.println(simplifiedText);
-			System.out.println();
-
-			//File output
-			
-			bw.write("Input Text:\n" + MessageUtil.paddingHeaderHelper("Input Text:") +"\n "+ inputText + "\n\n");
-			bw.write("Simplified Text:\n" + MessageUtil.paddingHeaderHelper("Simplified Text:") +"\n "+simplifiedText + "\n\n");
+			bw.write("Simplified Text:\n" + MessageUtil.paddingHeaderHelper("Simplified Text:") + "\n ");
+			try (BufferedReader reader = simplifiedLines.read()) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					writeLine(line);
+				}
+			}
+			endSection();
 
 			// Output the processing summary
-			printProcessingSummary(bw, wordsToSimplify, wordsInGoogle1000, wordsNotInEmbeding);
+			printProcessingSummary(bw, stats.getWordsToSimplify(), stats.getWordsInGoogle1000(),
+					stats.getWordsNotInEmbeddings());
+			if (metrics != null) {
+				printRunMetrics(bw, metrics);
+			}
 
 			// Ensure everything is written to the file
-			bw.flush();
+			bw.close();
 			MessageUtil.displayMessage("Result also written to " + outputFilePath, ConsoleColour.BLUE_BOLD);
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				bw.close();
+			} finally {
+				simplifiedLines.close();
+			}
+		}
+
+		// Writes a line of a section, separated from the previous one, and shows it unless quiet
+		private void writeLine(String line) throws IOException {//Big-O Notation: O(n) - length of the line
+			if (previewLines < 0 || sectionLines < previewLines) {
+				System.out.println(line);
+			}
+			if (sectionLines > 0) {
+				bw.write('\n');
+			}
+			bw.write(line);
+			sectionLines++;
+		}
 
-		} catch (IOException ex) {
-			MessageUtil.displayMessage("Error writing to file", ConsoleColour.RED_BOLD);
-			System.err.println(ex.getMessage());
+		// Ends a section, noting any lines left out of the console preview
+		private void endSection() throws IOException {//Big-O Notation: O(1)
+			if (previewLines >= 0 && sectionLines > previewLines) {
+				System.out.println("... " + (sectionLines - previewLines) + " more lines in " + outputFilePath);
+			}
+			System.out.println();
+			bw.write("\n\n");
+			sectionLines = 0;
 		}
 	}
 
@@ -80,11 +188,11 @@ public class FileAndConsoleOutput implements OutputStrategy {
 	 /**
      * Prints formatted headers to both console and file output.
      * 
-     * @param bw                The BufferedWriter for file output
+     * @param bw                The Writer for file output
      * @param similarityMethod  The similarity method used
      * @throws IOException if there's an error writing to file
      */
-	private void printConsoleAndFileHeader(BufferedWriter bw, SimilarityCalculationType similarityMethod) throws IOException {//Big-O Notation: O(n) - scales with size of strings
+	private void printConsoleAndFileHeader(Writer bw, SimilarityCalculationType similarityMethod) throws IOException {//Big-O Notation: O(n) - scales with size of strings
 		
 		// Console output
 		MessageUtil.displayMessage("Simplified Text using " + similarityMethod.getDescription(), ConsoleColour.GREEN);
@@ -94,21 +202,21 @@ public class FileAndConsoleOutput implements OutputStrategy {
 		bw.write(header + "\n");
 		bw.write("Simplified Text using " + similarityMethod.getDescription() + "\n");
 		bw.write(header + "\n");
-		bw.newLine();
+		bw.write(System.lineSeparator());
 	}
 
 	// Helper method to print the processing summary
 	/**
      * Prints processing statistics summary to both console and file.
      * 
-     * @param bw                   The BufferedWriter for file output
+     * @param bw                   The Writer for file output
      * @param wordsToSimplify      Count of words that needed simplification
      * @param wordsInGoogle1000    Count of words found in Google-1000
      * @param wordsNotInEmbedding  Count of words not found in embeddings
      * @throws IOException if there's an error writing to file
      */
-	private void printProcessingSummary(BufferedWriter bw, int wordsToSimplify, int wordsInGoogle1000,
-			int wordsNotInEmbedding) throws IOException {//Big-O Notation: O(1)	- Processes and outputs a fixed number of summary items.
+	private void printProcessingSummary(Writer bw, long wordsToSimplify, long wordsInGoogle1000,
+			long wordsNotInEmbedding) throws IOException {//Big-O Notation: O(1)	- Processes and outputs a fixed number of summary items.
 		//Console Output
 		MessageUtil.displayMessage("Processing Summary", ConsoleColour.GREEN);
 		
@@ -127,8 +235,30 @@ public class FileAndConsoleOutput implements OutputStrategy {
 		bw.write("Number of words found to simplify: " + wordsToSimplify + "\n");
 		bw.write("Number of words already in Google-1000: " + wordsInGoogle1000 + "\n");
 		bw.write("Number of words not in embedding file: " + wordsNotInEmbedding + "\n");
-		bw.newLine();
+		bw.write(System.lineSeparator());
 		
 	}
 
+	/**
+     * Prints the phase timings and search statistics to both console and file.
+     *
+     * @param bw      The Writer for file output
+     * @param metrics The metrics of the run
+     * @throws IOException if there's an error writing to file
+     */
+	private void printRunMetrics(Writer bw, RunMetrics metrics) throws IOException {//Big-O Notation: O(1) - fixed number of phases
+		MessageUtil.displayMessage("Run Metrics", ConsoleColour.GREEN);
+
+		String header = MessageUtil.paddingHeaderHelper("Run Metrics");
+		bw.write(header + "\n");
+		bw.write("Run Metrics\n");
+		bw.write(header + "\n");
+
+		for (String line : metrics.summaryLines()) {
+			System.out.println(line);
+			bw.write(line + "\n");
+		}
+		bw.write(System.lineSeparator());
+	}
+
 }
@@ -3,11 +3,12 @@ package ie.atu.sw;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Set;
 /**
  * The {@code FileParser} class is responsible for loading and processing files
  * required by the text simplifier application.
@@ -18,7 +19,12 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * <h2>Responsibilities:</h2>
  * <ul>
- * <li>Load and parse word embeddings into a thread-safe map.</li>
+ * <li>Load and parse word embeddings into an {@link EmbeddingStore}, or memory-map them
+ * from a {@link BinaryEmbeddings} file.</li>
+ * <li>Optionally load only the embeddings of the words a job needs, see
+ * {@link #collectVocabulary(List, String)}.</li>
+ * <li>Keep the parsed embeddings on the heap, as {@link QuantizedEmbeddings} or as
+ * {@link OffHeapEmbeddings}, selected by {@link #setEmbeddingStorage(EmbeddingStorage)}.</li>
  * <li>Load and store Google-1000 words for comparison.</li>
  * <li>Load text files to be simplified line by line.</li>
  * </ul>
@@ -35,10 +41,12 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class FileParser {
 
-	// Thread-safe map to store word embeddings
-	private final ConcurrentHashMap<String, float[]> embeddings;
+	private EmbeddingStore embeddings; // Word embeddings, in the selected storage
 	private final Map<String, float[]> googleWordEmbeddings; // Google-1000 words
+	private TargetIndex googleWordIndex; // Google-1000 vectors packed into one matrix
 	private final List<String> textToSimplify; // Text to simplify, stored line-by-line
+	private EmbeddingStorage embeddingStorage = EmbeddingStorage.HEAP; // How parsed CSV embeddings are kept
+	private EmbeddingStore floatEmbeddings; // Float vectors of quantized embeddings, kept until the targets are built; may be null
 	
 	private final int VECTOR_LENGTH = 50; // Embedding vector length
 	
@@ -47,45 +55,58 @@ public class FileParser {
      */
 	// Constructors to  initialise
 	public FileParser() {
-		this.embeddings = new ConcurrentHashMap<>();
+		this.embeddings = HeapEmbeddingStore.fromMap(Map.of());
 		this.googleWordEmbeddings = new HashMap<>();
+		this.googleWordIndex = TargetIndex.fromMap(googleWordEmbeddings);
 		this.textToSimplify = new ArrayList<>();
 		
 	}
 	
 	 /**
-     * Loads the word embeddings from a file and stores them in a ConcurrentHashMap.
+     * Loads the word embeddings from a file into an {@link EmbeddingStore}.
      * <p>
      * Each line in the file should contain a word followed by its vector values.
-     * The vectors are parsed and stored in a thread-safe {@code ConcurrentHashMap}.
+     * The file is split into chunks that are parsed in parallel by an
+     * {@link EmbeddingsCsvParser} straight into the one vector block of a
+     * {@link HeapEmbeddingStore}, which is then converted to the selected store.
+     * Files in the {@link BinaryEmbeddings} format are detected by their header and
+     * memory-mapped instead of parsed. With {@link EmbeddingStorage#QUANTIZED} or
+     * {@link EmbeddingStorage#OFF_HEAP} storage the parsed vectors are converted and released;
+     * quantized embeddings keep their float vectors until {@link #loadGoogleWordsFile(String)}
+     * has built the targets from them.
      * </p>
      *
      * @param filePath The path to the word embeddings file.
      * @throws RuntimeException If an error occurs while reading the file.
      */
-	public void loadEmbeddingsFile(String filePath) {//Big-O Notation: O(n) - Reads the embeddings file line by line. The processing of each line is independent, resulting in linear time complexity
-
-		// Counter to track the number of processed lines
-		AtomicInteger lineCount = new AtomicInteger(0);
-		// Counter to track duplicates
-		AtomicInteger duplicates = new AtomicInteger(0);
-
-		// Ensures the file reader and executor are closed automatically
-		try (var reader = Files.newBufferedReader(Path.of(filePath));
-
-				var executor = java.util.concurrent.Executors.newVirtualThreadPerTaskExecutor()) {
-
-			String line;
-			// Read each line in the file
-			while ((line = reader.readLine()) != null) {
-
-				// Submit each line for processing in a virtual thread
-				final String lineToProcess = line; // Necessary to make it effectively final for lambda
-				executor.submit(() -> processLine(lineToProcess, lineCount, duplicates));
-			}
+	public void loadEmbeddingsFile(String filePath) {//Big-O Notation: O(n) - Each byte of the file is read once; chunks are independent, so the work is spread across cores
+		loadEmbeddingsFile(filePath, null);
+	}
 
-			executor.shutdown();
+	/**
+     * Loads only the embeddings of a given vocabulary, skipping every other line of the
+     * file before its floats are parsed. A binary file is memory-mapped in full, as
+     * mapping costs nothing for unused rows.
+     *
+     * @param filePath The path to the word embeddings file.
+     * @param vocabulary The words to keep, e.g. from {@link #collectVocabulary(List, String)},
+     *        or {@code null} to load every word.
+     * @throws RuntimeException If an error occurs while reading the file.
+     */
+	public void loadEmbeddingsFile(String filePath, Collection<String> vocabulary) {//Big-O Notation: O(n) - Each byte of the file is scanned once; only kept lines are parsed
 
+		floatEmbeddings = null;
+		if (BinaryEmbeddings.isBinaryFile(filePath)) {
+			loadBinaryEmbeddingsFile(filePath);
+			return;
+		}
+		// Split the file into byte-range chunks and parse them on one worker per core
+		EmbeddingsCsvParser parser = new EmbeddingsCsvParser(VECTOR_LENGTH, Runtime.getRuntime().availableProcessors());
+		if (vocabulary != null) {
+			parser.setVocabulary(new WordIndex(vocabulary.toArray(new String[0])));
+		}
+		try {
+			embeddings = parser.parse(filePath);
 		} catch (Exception e) {
 
 			System.err.println("Error loading embeddings: " + e.getMessage());
@@ -94,59 +115,74 @@ public class FileParser {
 
 		// Print summary of processing
 		System.out.println();
-		System.out.println("Processed " + lineCount.get() + " words");
+		System.out.println("Processed " + parser.getLineCount() + " words");
 		System.out.println("Vocabulary size: " + embeddings.size());
-		System.out.println("Duplicates Encountered: " + duplicates);
+		System.out.println("Duplicates Encountered: " + parser.getDuplicates());
+		if (vocabulary != null) {
+			System.out.println("Skipped " + parser.getSkipped() + " words not used by the input");
+		}
+
+		if (embeddingStorage == EmbeddingStorage.QUANTIZED) {
+			QuantizedEmbeddings quantized = QuantizedEmbeddings.quantize(embeddings);
+			floatEmbeddings = embeddings; // Released once the targets are built from the exact vectors
+			embeddings = quantized;
+			System.out.printf("Quantized vectors to int8: %.1f MB%n", quantized.getVectorBytes() / (1024.0 * 1024.0));
+		} else if (embeddingStorage == EmbeddingStorage.OFF_HEAP) {
+			OffHeapEmbeddings offHeap = OffHeapEmbeddings.copyOf(embeddings);
+			embeddings = offHeap; // The float vectors can now be collected
+			System.out.printf("Moved vectors off-heap: %.1f MB%n", offHeap.getVectorBytes() / (1024.0 * 1024.0));
+		}
 	}
 	
-	//threads processing the embeddings file
 	/**
-     * Parses a single line of the embeddings file and adds it to the map.
+     * Memory-maps a binary embeddings file written by {@link BinaryEmbeddings#convert(String, String)}.
+     * <p>
+     * Only the word table is decoded; the vectors stay in the mapped file and are copied
+     * out one at a time on lookup.
+     * </p>
      *
-     * @param line The line to process.
-     * @param lineCount Counter for processed lines.
-     * @param duplicates Counter for duplicate entries.
+     * @param filePath The path to the binary embeddings file.
+     * @throws RuntimeException If an error occurs while mapping the file.
      */
-		private void processLine(String line, AtomicInteger lineCount, AtomicInteger duplicates) {//Big-O Notation: O(n) processes a single line of the embeddings file, splitting it into components and parsing the vector.
-			// Split the line into components: the word and its vector
-			String[] parts = line.trim().split(",");
-			String word = parts[0]; // The word is the first part
-			float[] vector = new float[VECTOR_LENGTH]; // Array to store the vector
-
-			try {
-	            for (int i = 0; i < VECTOR_LENGTH; i++) {
-	                vector[i] = Float.parseFloat(parts[i + 1]);
-	            }
+	public void loadBinaryEmbeddingsFile(String filePath) {//Big-O Notation: O(n) - decodes the word table only
+		try {
+			embeddings = BinaryEmbeddings.open(filePath);
+		} catch (Exception e) {
+			System.err.println("Error loading binary embeddings: " + e.getMessage());
+			throw new RuntimeException(e);
+		}
 
-	            if (embeddings.put(word, vector) != null) {
-	                duplicates.incrementAndGet();
-	            }
+		System.out.println();
+		System.out.println("Mapped binary embeddings file");
+		System.out.println("Vocabulary size: " + embeddings.size());
+	}
 
-	            lineCount.incrementAndGet();
 
-	        } catch (NumberFormatException e) {
-	            System.err.println("[ERROR] Malformed vector for word: " + word);
-	        }
-		}
-	
-	
-	
 		/**
 	     * Loads the Google-1000 words file and stores their embeddings in a map.
 	     * <p>
-	     * Only words present in the embeddings map are included.
+	     * Only words present in the embeddings map are included. Once the file is read,
+	     * the vectors are packed into a {@link TargetIndex} for fast scanning.
+	     * </p>
+	     * <p>
+	     * With {@link EmbeddingStorage#QUANTIZED} storage the targets are built from the
+	     * float vectors kept by {@link #loadEmbeddingsFile(String)}, which are then released,
+	     * so the re-rank of {@link TextSimplifier#setQuantizedSearch(int)} is exact. Loading
+	     * another Google-1000 file afterwards decodes the targets from the int8 codes, unless
+	     * the embeddings are loaded again first.
 	     * </p>
 	     *
 	     * @param filePath The path to the Google-1000 words file.
 	     * @throws RuntimeException If an error occurs while reading the file.
 	     */
 	public void loadGoogleWordsFile(String filePath) {//Big-O Notation: O(n) - Reads the file line by line and processes each word once
-		
+		googleWordEmbeddings.clear(); // Vectors of a previous load may come from other embeddings
+		EmbeddingStore source = floatEmbeddings != null ? floatEmbeddings : embeddings; // Exact vectors if still held
 		try (var reader = Files.newBufferedReader(Path.of(filePath))) {
 			String line;
 			while ((line = reader.readLine()) != null) {
 				String word = line.trim();
-				float[] vector = embeddings.get(word);
+				float[] vector = source.get(word);
 
 				if(vector !=null) {
                     googleWordEmbeddings.put(word, vector);
@@ -157,6 +193,14 @@ public class FileParser {
 			System.err.println("Error loading Google-1000 file: " + e.getMessage());
 			throw new RuntimeException(e);
 		}
+		// Build the contiguous target matrix once, rather than on every search
+		googleWordIndex = source.targetIndex(googleWordEmbeddings.keySet());
+		if (floatEmbeddings != null) {
+			floatEmbeddings = null; // Only the quantized embeddings are kept from here on
+		} else if (embeddings instanceof QuantizedEmbeddings) {
+			System.out.println("[INFO] Google-1000 vectors decoded from int8; load the embeddings again for exact targets");
+		}
+
 		System.out.println();
 		System.out.println("Loaded " + getEmbeddings().size() + " words from Google-1000 file.");
 		
@@ -186,13 +230,58 @@ public class FileParser {
 	}
 
 
+	/**
+     * Selects how the embeddings of the next CSV file are kept in memory. Binary files are
+     * always memory-mapped.
+     *
+     * @param embeddingStorage The storage to use.
+     */
+	public void setEmbeddingStorage(EmbeddingStorage embeddingStorage) {//Big-O Notation: O(1) - assigns a field
+		this.embeddingStorage = embeddingStorage;
+	}
+
+	/**
+     * Collects the distinct words a job can look up: every word of the text to simplify,
+     * lower-cased and stripped of punctuation as {@link TextSimplifier} does, plus every
+     * word of the Google-1000 file.
+     *
+     * @param textLines The lines of text to simplify.
+     * @param googleFilePath The path to the Google-1000 words file.
+     * @return The vocabulary to pass to {@link #loadEmbeddingsFile(String, Collection)}.
+     * @throws RuntimeException If an error occurs while reading the Google-1000 file.
+     */
+	public Set<String> collectVocabulary(List<String> textLines, String googleFilePath) {//Big-O Notation: O(n) - every character of the text and word list is read once
+		Set<String> vocabulary = new HashSet<>();
+		TokenSlice word = new TokenSlice();
+		for (String line : textLines) {
+			LineTokenizer tokenizer = new LineTokenizer(line);
+			while (tokenizer.next()) {
+				word.set(line, tokenizer.coreStart(), tokenizer.coreEnd());
+				if (!vocabulary.contains(word)) {
+					vocabulary.add(word.toString());
+				}
+			}
+		}
+
+		try (var reader = Files.newBufferedReader(Path.of(googleFilePath))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				vocabulary.add(line.trim());
+			}
+		} catch (Exception e) {
+			System.err.println("Error loading Google-1000 file: " + e.getMessage());
+			throw new RuntimeException(e);
+		}
+		return vocabulary;
+	}
+
 	// Getters for the parsed Data, hooks for consumption
 	 /**
-     * Retrieves the embeddings map.
+     * Retrieves the embeddings.
      *
-     * @return A map of words to their vector embeddings.
+     * @return The {@link EmbeddingStore} built by the last call to {@link #loadEmbeddingsFile(String)}.
      */
-	public ConcurrentHashMap<String, float[]> getEmbeddings() {//Big-O Notation: O(1) - Retrieving stored Data
+	public EmbeddingStore getEmbeddings() {//Big-O Notation: O(1) - Retrieving stored Data
 		return this.embeddings;
 	}
 	/**
@@ -203,6 +292,15 @@ public class FileParser {
 	public Map<String, float[]> getGoogleWords() {//Big-O Notation: O(1) - Retrieving stored Data
 		return this.googleWordEmbeddings;
 	}
+
+	/**
+     * Retrieves the Google-1000 words packed into a contiguous matrix.
+     *
+     * @return The {@link TargetIndex} built by the last call to {@link #loadGoogleWordsFile(String)}.
+     */
+	public TargetIndex getGoogleWordIndex() {//Big-O Notation: O(1) - Retrieving stored Data
+		return this.googleWordIndex;
+	}
 	
 	/**
      * Retrieves the list of text lines to simplify.
@@ -0,0 +1,96 @@
+package ie.atu.sw;
+
+import java.util.Map;
+
+/**
+ * The {@code HeapEmbeddingStore} class is the default {@link EmbeddingStore}: every vector
+ * in one contiguous {@code float[]} on the heap, found through a {@link WordIndex}.
+ * <p>
+ * The {@link EmbeddingsCsvParser} parses every line straight into a row of the block
+ * and hands it over with {@link #fromBlock(WordIndex, float[], int)}; the store is
+ * read-only from then on. Looking a word up is one probe of the open-addressing index,
+ * and its vector is the row {@code id} of the block, so there is no {@code float[]} per
+ * word and no map node at any point of the load.
+ * </p>
+ *
+ * @see EmbeddingStorage#HEAP
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class HeapEmbeddingStore implements EmbeddingStore {
+
+	private final WordIndex wordIndex; // word <-> id
+	private final float[] vectors; // Row-major: vectors[id * dimension + i]
+	private final int dimension; // Length of each vector
+
+	/**
+	 * Constructs a {@code HeapEmbeddingStore} from its parts.
+	 */
+	private HeapEmbeddingStore(WordIndex wordIndex, float[] vectors, int dimension) {
+		this.wordIndex = wordIndex;
+		this.vectors = vectors;
+		this.dimension = dimension;
+	}
+
+	/**
+	 * Wraps a vector block whose row {@code id} is the vector of the word with that id in
+	 * the index. The block is used as it is, not copied.
+	 *
+	 * @param wordIndex The words, with ids in row order.
+	 * @param vectors   The row-major block; rows past {@code wordIndex.size()} are ignored.
+	 * @param dimension The length of each vector.
+	 * @return The store.
+	 */
+	public static HeapEmbeddingStore fromBlock(WordIndex wordIndex, float[] vectors, int dimension) {//Big-O Notation: O(1)
+		return new HeapEmbeddingStore(wordIndex, vectors, dimension);
+	}
+
+	/**
+	 * Builds a store from the entries of an embeddings map, copying every vector into the
+	 * block. The map can be released afterwards.
+	 *
+	 * @param embeddings The embeddings map (word to vector); all vectors have the same length.
+	 * @return The store.
+	 */
+	public static HeapEmbeddingStore fromMap(Map<String, float[]> embeddings) {//Big-O Notation: O(n * d) - one pass over the map
+		int dimension = embeddings.isEmpty() ? 0 : embeddings.values().iterator().next().length;
+		String[] words = new String[embeddings.size()];
+		float[] vectors = new float[embeddings.size() * dimension];
+
+		int id = 0;
+		for (Map.Entry<String, float[]> entry : embeddings.entrySet()) {
+			words[id] = entry.getKey();
+			System.arraycopy(entry.getValue(), 0, vectors, id * dimension, dimension);
+			id++;
+		}
+		return new HeapEmbeddingStore(new WordIndex(words), vectors, dimension);
+	}
+
+	@Override
+	public int id(CharSequence word) {//Big-O Notation: O(l) - one probe of the word index
+		return wordIndex.id(word);
+	}
+
+	@Override
+	public String word(int id) {//Big-O Notation: O(l) - copies the characters
+		return wordIndex.word(id);
+	}
+
+	@Override
+	public void vector(int id, float[] vector) {//Big-O Notation: O(d) - one row copy
+		System.arraycopy(vectors, id * dimension, vector, 0, dimension);
+	}
+
+	@Override
+	public int size() {//Big-O Notation: O(1) - Retrieving stored Data
+		return wordIndex.size();
+	}
+
+	@Override
+	public int getDimension() {//Big-O Notation: O(1) - Retrieving stored Data
+		return dimension;
+	}
+
+}
@@ -0,0 +1,617 @@
+package ie.atu.sw;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code HnswIndex} class is a Hierarchical Navigable Small World graph over the
+ * vectors of a {@link TargetIndex}, for approximate nearest-neighbour search against large
+ * target vocabularies (10k words and more) where a linear scan is too slow.
+ * <p>
+ * Every target word is a node. Each node is placed on a random number of layers, with
+ * exponentially fewer nodes on higher layers. A search descends greedily from the single
+ * entry point on the top layer, then explores the bottom layer with a beam of
+ * {@code efSearch} candidates. Scores come from the {@link SimilarityStrategy} the graph
+ * was built with (higher is closer), so every {@link SimilarityCalculationType} works.
+ * </p>
+ *
+ * <h2>Parameters:</h2>
+ * <ul>
+ * <li>{@code M}: links per node on the upper layers ({@code 2M} on the bottom layer).</li>
+ * <li>{@code efConstruction}: beam width while inserting; higher gives a better graph.</li>
+ * <li>{@code efSearch}: beam width while searching; higher gives better recall.</li>
+ * </ul>
+ *
+ * <h2>Graph File:</h2>
+ * <p>
+ * {@link #write(String)} stores the links only; the vectors come from the
+ * {@link TargetIndex} again on {@link #read}. The header records what the graph was built
+ * from: the similarity type, the number of targets, a {@link TargetIndex#fingerprint()} of
+ * the target words and vectors, {@code M}, {@code efConstruction} and {@code efSearch}.
+ * A file whose type, targets, {@code M} or {@code efConstruction} differ from the
+ * requested ones is rejected rather than searched with the wrong rows. {@code efSearch} is
+ * only the default beam width and can be changed after loading.
+ * </p>
+ *
+ * <h2>Tools:</h2>
+ * <pre>
+ * java ie.atu.sw.HnswIndex &lt;embeddings&gt; &lt;targets&gt; &lt;COSINE|DOT_PRODUCT|EUCLIDEAN|MANHATTAN&gt; &lt;graph file&gt; [M efConstruction efSearch queries]
+ * </pre>
+ * builds (or loads, if the graph file exists) the index and prints its recall@10 against
+ * brute force.
+ *
+ * @see TextSimplifier#setNearestNeighbourIndex(HnswIndex)
+ * @see TargetIndex
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class HnswIndex {
+
+	private static final int MAGIC = 0x484E5357; // "HNSW"
+	private static final int VERSION = 2; // 2 added the targets fingerprint
+
+	/**
+	 * The default links per node on the upper layers.
+	 */
+	public static final int DEFAULT_M = 16;
+
+	/**
+	 * The default beam width while building.
+	 */
+	public static final int DEFAULT_EF_CONSTRUCTION = 200;
+
+	/**
+	 * The default beam width while searching.
+	 */
+	public static final int DEFAULT_EF_SEARCH = 64;
+
+	private final TargetIndex targets; // Vectors of the nodes
+	private final SimilarityStrategy similarityMeasure; // Scores between vectors, higher is closer
+	private final int m; // Links per node on the upper layers
+	private final int efConstruction; // Beam width while building
+	private int efSearch; // Beam width while searching
+
+	private final int[] nodeLevels; // Top layer of each node
+	private final int[][][] links; // links[node][layer] = neighbour rows
+	private final int[][] linkCounts; // linkCounts[node][layer] = links in use
+	private int entryPoint = -1; // Node on the top layer where searches start
+	private int maxLevel = -1; // Highest layer in the graph
+
+	/**
+	 * Constructs an empty graph; nodes are added by {@link #build}.
+	 */
+	private HnswIndex(TargetIndex targets, SimilarityStrategy similarityMeasure, int m, int efConstruction,
+			int efSearch) {
+		this.targets = targets;
+		this.similarityMeasure = similarityMeasure;
+		this.m = Math.max(2, m);
+		this.efConstruction = Math.max(1, efConstruction);
+		this.efSearch = Math.max(1, efSearch);
+		this.nodeLevels = new int[targets.size()];
+		this.links = new int[targets.size()][][];
+		this.linkCounts = new int[targets.size()][];
+	}
+
+	/**
+	 * Builds a graph over every row of a target index.
+	 *
+	 * @param targets           The target vectors.
+	 * @param similarityMeasure The strategy used to score vectors.
+	 * @param m                 The links per node on the upper layers.
+	 * @param efConstruction    The beam width while building.
+	 * @param efSearch          The beam width while searching.
+	 * @return The built index.
+	 */
+	public static HnswIndex build(TargetIndex targets, SimilarityStrategy similarityMeasure, int m,
+			int efConstruction, int efSearch) {//Big-O Notation: O(n log n) - each insertion is a logarithmic search
+		HnswIndex index = new HnswIndex(targets, similarityMeasure, m, efConstruction, efSearch);
+		Random random = new Random(42); // Fixed seed: the same inputs give the same graph
+		double levelMultiplier = 1 / Math.log(index.m);
+
+		for (int node = 0; node < targets.size(); node++) {
+			int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+			index.insert(node, level);
+		}
+		return index;
+	}
+
+	// Inserts one node, linking it on every layer up to its level
+	private void insert(int node, int level) {//Big-O Notation: O(log n) layers, each an efConstruction search
+		nodeLevels[node] = level;
+		links[node] = new int[level + 1][];
+		linkCounts[node] = new int[level + 1];
+		for (int layer = 0; layer <= level; layer++) {
+			links[node][layer] = new int[maxLinks(layer) + 1]; // One spare slot before pruning
+		}
+
+		if (entryPoint < 0) {
+			entryPoint = node;
+			maxLevel = level;
+			return;
+		}
+
+		float[] vector = rowVector(node);
+		double norm = targets.norm(node);
+		int current = entryPoint;
+
+		// Greedy descent through the layers above the node's level
+		for (int layer = maxLevel; layer > level; layer--) {
+			current = greedyClosest(vector, norm, current, layer);
+		}
+
+		for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+			ScoreHeap candidates = searchLayer(vector, norm, current, efConstruction, layer);
+			int[] rows = new int[candidates.size()];
+			double[] scores = new double[candidates.size()];
+			candidates.drainDescending(rows, scores);
+
+			int linkCount = Math.min(m, rows.length);
+			for (int i = 0; i < linkCount; i++) {
+				addLink(node, rows[i], layer);
+				addLink(rows[i], node, layer);
+			}
+			current = rows[0];
+		}
+
+		if (level > maxLevel) {
+			maxLevel = level;
+			entryPoint = node;
+		}
+	}
+
+	// Adds a link from node to neighbour, keeping only the closest links when full
+	private void addLink(int node, int neighbour, int layer) {//Big-O Notation: O(M log M) when pruning
+		int[] nodeLinks = links[node][layer];
+		int count = linkCounts[node][layer];
+		nodeLinks[count++] = neighbour;
+
+		if (count > maxLinks(layer)) {
+			float[] vector = rowVector(node);
+			double norm = targets.norm(node);
+			TopKHeap closest = new TopKHeap(maxLinks(layer));
+			for (int i = 0; i < count; i++) {
+				closest.offer(nodeLinks[i], score(vector, norm, nodeLinks[i]));
+			}
+			double[] scores = new double[closest.size()];
+			count = closest.drainDescending(nodeLinks, scores);
+		}
+		linkCounts[node][layer] = count;
+	}
+
+	/**
+	 * Finds the approximate {@code k} closest targets to a query vector.
+	 *
+	 * @param query The query vector.
+	 * @param k     The number of results.
+	 * @return Up to {@code k} target words with their scores, best first.
+	 */
+	public List<ScoredWord> search(float[] query, int k) {//Big-O Notation: O(log n + efSearch * M) - greedy descent and one beam search
+		if (entryPoint < 0 || k <= 0) {
+			return List.of();
+		}
+
+		double norm = TargetIndex.norm(query, 0, query.length);
+		int current = entryPoint;
+		for (int layer = maxLevel; layer > 0; layer--) {
+			current = greedyClosest(query, norm, current, layer);
+		}
+
+		ScoreHeap candidates = searchLayer(query, norm, current, Math.max(efSearch, k), 0);
+		int[] rows = new int[candidates.size()];
+		double[] scores = new double[candidates.size()];
+		candidates.drainDescending(rows, scores);
+
+		List<ScoredWord> results = new ArrayList<>(Math.min(k, rows.length));
+		for (int i = 0; i < rows.length && i < k; i++) {
+			results.add(new ScoredWord(targets.word(rows[i]), scores[i]));
+		}
+		return results;
+	}
+
+	// Moves to the best neighbour until no neighbour improves the score
+	private int greedyClosest(float[] query, double norm, int start, int layer) {//Big-O Notation: O(steps * M)
+		int current = start;
+		double currentScore = score(query, norm, current);
+		boolean improved = true;
+
+		while (improved) {
+			improved = false;
+			int[] neighbours = links[current][layer];
+			for (int i = 0; i < linkCounts[current][layer]; i++) {
+				double neighbourScore = score(query, norm, neighbours[i]);
+				if (neighbourScore > currentScore) {
+					currentScore = neighbourScore;
+					current = neighbours[i];
+					improved = true;
+				}
+			}
+		}
+		return current;
+	}
+
+	// Beam search on one layer; returns the ef best nodes found
+	private ScoreHeap searchLayer(float[] query, double norm, int start, int ef, int layer) {//Big-O Notation: O(ef * M log ef)
+		BitSet visited = new BitSet(targets.size());
+		ScoreHeap candidates = new ScoreHeap(true); // Closest first
+		ScoreHeap results = new ScoreHeap(false); // Furthest first, so the worst can be dropped
+
+		double startScore = score(query, norm, start);
+		visited.set(start);
+		candidates.push(start, startScore);
+		results.push(start, startScore);
+
+		while (candidates.size() > 0) {
+			double candidateScore = candidates.peekScore();
+			if (results.size() >= ef && candidateScore < results.peekScore()) {
+				break; // Every remaining candidate is worse than the worst result
+			}
+			int candidate = candidates.pop();
+
+			int[] neighbours = links[candidate][layer];
+			for (int i = 0; i < linkCounts[candidate][layer]; i++) {
+				int neighbour = neighbours[i];
+				if (visited.get(neighbour)) {
+					continue;
+				}
+				visited.set(neighbour);
+
+				double neighbourScore = score(query, norm, neighbour);
+				if (results.size() < ef || neighbourScore > results.peekScore()) {
+					candidates.push(neighbour, neighbourScore);
+					results.push(neighbour, neighbourScore);
+					if (results.size() > ef) {
+						results.pop();
+					}
+				}
+			}
+		}
+		return results;
+	}
+
+	private double score(float[] query, double norm, int row) {//Big-O Notation: O(d)
+		return similarityMeasure.calculate(query, norm, targets.getVectors(), targets.offset(row), targets.norm(row));
+	}
+
+	private float[] rowVector(int row) {//Big-O Notation: O(d) - copies one row
+		int offset = targets.offset(row);
+		return Arrays.copyOfRange(targets.getVectors(), offset, offset + targets.getDimension());
+	}
+
+	private int maxLinks(int layer) {//Big-O Notation: O(1)
+		return layer == 0 ? 2 * m : m;
+	}
+
+	/**
+	 * Sets the beam width used by {@link #search(float[], int)}.
+	 *
+	 * @param efSearch The number of candidates explored; higher improves recall.
+	 */
+	public void setEfSearch(int efSearch) {//Big-O Notation: O(1)
+		this.efSearch = Math.max(1, efSearch);
+	}
+
+	/**
+	 * Retrieves the target vectors the graph links.
+	 *
+	 * @return The {@link TargetIndex} given when the graph was built or read.
+	 */
+	public TargetIndex getTargets() {//Big-O Notation: O(1) - Retrieving stored Data
+		return targets;
+	}
+
+	/**
+	 * Retrieves the similarity type the graph was built with.
+	 *
+	 * @return The {@link SimilarityCalculationType} of the scores.
+	 */
+	public SimilarityCalculationType getCalculationType() {//Big-O Notation: O(1)
+		return similarityMeasure.getCalculationType();
+	}
+
+	/**
+	 * Measures recall@k against an exact linear scan, using sample vectors as queries.
+	 *
+	 * @param queries The query vectors.
+	 * @param k       The number of neighbours compared.
+	 * @return The fraction of the exact top-k that the graph also returned.
+	 */
+	public double measureRecall(List<float[]> queries, int k) {//Big-O Notation: O(q * n * d) - dominated by the exact scans
+		long found = 0;
+		long expected = 0;
+
+		for (float[] query : queries) {
+			double norm = TargetIndex.norm(query, 0, query.length);
+			TopKHeap exact = new TopKHeap(k);
+			for (int row = 0; row < targets.size(); row++) {
+				exact.offer(row, score(query, norm, row));
+			}
+			int[] exactRows = new int[exact.size()];
+			exact.drainDescending(exactRows, new double[exactRows.length]);
+
+			List<ScoredWord> approximate = search(query, k);
+			for (int row : exactRows) {
+				String word = targets.word(row);
+				for (ScoredWord result : approximate) {
+					if (result.word().equals(word)) {
+						found++;
+						break;
+					}
+				}
+			}
+			expected += exactRows.length;
+		}
+		return expected == 0 ? 1.0 : (double) found / expected;
+	}
+
+	/**
+	 * Writes the graph to a file so it does not have to be rebuilt on the next start.
+	 * The vectors are not written; they come from the {@link TargetIndex} on reading.
+	 *
+	 * @param filePath The path of the graph file.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void write(String filePath) throws IOException {//Big-O Notation: O(n * M) - writes every link once
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(Path.of(filePath)), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeUTF(getCalculationType().name());
+			out.writeInt(targets.size());
+			out.writeLong(targets.fingerprint());
+			out.writeInt(m);
+			out.writeInt(efConstruction);
+			out.writeInt(efSearch);
+			out.writeInt(entryPoint);
+			out.writeInt(maxLevel);
+
+			for (int node = 0; node < targets.size(); node++) {
+				out.writeInt(nodeLevels[node]);
+				for (int layer = 0; layer <= nodeLevels[node]; layer++) {
+					out.writeInt(linkCounts[node][layer]);
+					for (int i = 0; i < linkCounts[node][layer]; i++) {
+						out.writeInt(links[node][layer][i]);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads a graph written by {@link #write(String)}, checking that it was built over
+	 * the same targets, with the same similarity type and parameters.
+	 *
+	 * @param filePath          The path of the graph file.
+	 * @param targets           The target vectors the graph was built over.
+	 * @param similarityMeasure The strategy the graph was built with.
+	 * @param m                 The links per node the graph was built with.
+	 * @param efConstruction    The beam width the graph was built with.
+	 * @return The loaded index, searching with the {@code efSearch} stored in the file.
+	 * @throws IOException If the file cannot be read or does not match the targets, type or parameters.
+	 */
+	public static HnswIndex read(String filePath, TargetIndex targets, SimilarityStrategy similarityMeasure, int m,
+			int efConstruction) throws IOException {//Big-O Notation: O(n * M) - reads every link once
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(Path.of(filePath)), 1 << 16))) {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Not an HNSW graph file: " + filePath);
+			}
+			int version = in.readInt();
+			if (version != VERSION) {
+				throw new IOException("HNSW graph file version " + version + " is not supported; rebuild " + filePath);
+			}
+			String type = in.readUTF();
+			if (!type.equals(similarityMeasure.getCalculationType().name())) {
+				throw new IOException("HNSW graph was built for " + type + ", not "
+						+ similarityMeasure.getCalculationType().name());
+			}
+			if (in.readInt() != targets.size() || in.readLong() != targets.fingerprint()) {
+				throw new IOException("HNSW graph was built over other target words or embeddings: " + filePath);
+			}
+			int fileM = in.readInt();
+			int fileEfConstruction = in.readInt();
+			if (fileM != Math.max(2, m) || fileEfConstruction != Math.max(1, efConstruction)) {
+				throw new IOException("HNSW graph was built with M=" + fileM + ", efConstruction=" + fileEfConstruction
+						+ ", not M=" + m + ", efConstruction=" + efConstruction);
+			}
+
+			HnswIndex index = new HnswIndex(targets, similarityMeasure, fileM, fileEfConstruction, in.readInt());
+			index.entryPoint = in.readInt();
+			index.maxLevel = in.readInt();
+
+			for (int node = 0; node < targets.size(); node++) {
+				int level = in.readInt();
+				index.nodeLevels[node] = level;
+				index.links[node] = new int[level + 1][];
+				index.linkCounts[node] = new int[level + 1];
+				for (int layer = 0; layer <= level; layer++) {
+					int count = in.readInt();
+					index.links[node][layer] = new int[index.maxLinks(layer) + 1];
+					index.linkCounts[node][layer] = count;
+					for (int i = 0; i < count; i++) {
+						index.links[node][layer][i] = in.readInt();
+					}
+				}
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Loads a graph file if it exists, otherwise builds the graph and writes it to the
+	 * file for the next start.
+	 *
+	 * @param filePath          The path of the graph file.
+	 * @param targets           The target vectors.
+	 * @param similarityMeasure The strategy used to score vectors.
+	 * @param m                 The links per node on the upper layers.
+	 * @param efConstruction    The beam width while building.
+	 * @param efSearch          The beam width while searching, also applied to a loaded graph.
+	 * @return The loaded or built index.
+	 * @throws IOException If the file does not match, see {@link #read}, or cannot be written.
+	 */
+	public static HnswIndex loadOrBuild(String filePath, TargetIndex targets, SimilarityStrategy similarityMeasure,
+			int m, int efConstruction, int efSearch) throws IOException {//Big-O Notation: O(n * M) to load, O(n log n) to build
+		if (Files.exists(Path.of(filePath))) {
+			HnswIndex index = read(filePath, targets, similarityMeasure, m, efConstruction);
+			index.setEfSearch(efSearch);
+			return index;
+		}
+		HnswIndex index = build(targets, similarityMeasure, m, efConstruction, efSearch);
+		index.write(filePath);
+		return index;
+	}
+
+	/**
+	 * Recall tool: builds or loads a graph and prints its recall@10 against brute force.
+	 *
+	 * @param args The embeddings file, the target words file, the similarity type, the graph
+	 *             file, and optionally M, efConstruction, efSearch and the number of queries.
+	 */
+	public static void main(String[] args) {//Big-O Notation: O(n log n + q * n) - build plus exact scans
+		if (args.length < 4) {
+			System.err.println("Usage: java ie.atu.sw.HnswIndex <embeddings> <targets> "
+					+ "<COSINE|DOT_PRODUCT|EUCLIDEAN|MANHATTAN> <graph file> [M efConstruction efSearch queries]");
+			System.exit(1);
+		}
+		int m = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_M;
+		int efConstruction = args.length > 5 ? Integer.parseInt(args[5]) : DEFAULT_EF_CONSTRUCTION;
+		int efSearch = args.length > 6 ? Integer.parseInt(args[6]) : DEFAULT_EF_SEARCH;
+		int queryCount = args.length > 7 ? Integer.parseInt(args[7]) : 1000;
+
+		FileParser fileParser = new FileParser();
+		fileParser.loadEmbeddingsFile(args[0]);
+		fileParser.loadGoogleWordsFile(args[1]);
+		SimilarityStrategy strategy = SimilarityCalculationType.valueOf(args[2]).createStrategy();
+
+		try {
+			HnswIndex index;
+			long start = System.nanoTime();
+			if (Files.exists(Path.of(args[3]))) {
+				index = read(args[3], fileParser.getGoogleWordIndex(), strategy, m, efConstruction);
+				index.setEfSearch(efSearch);
+				System.out.printf("Loaded graph in %.2f s%n", (System.nanoTime() - start) / 1e9);
+			} else {
+				index = build(fileParser.getGoogleWordIndex(), strategy, m, efConstruction, efSearch);
+				System.out.printf("Built graph in %.2f s%n", (System.nanoTime() - start) / 1e9);
+				index.write(args[3]);
+			}
+
+			// Sample query vectors from the embeddings vocabulary
+			EmbeddingStore embeddings = fileParser.getEmbeddings();
+			Random random = new Random(7);
+			List<float[]> queries = new ArrayList<>();
+			for (int i = 0; i < queryCount && embeddings.size() > 0; i++) {
+				float[] query = new float[embeddings.getDimension()];
+				embeddings.vector(random.nextInt(embeddings.size()), query);
+				queries.add(query);
+			}
+
+			System.out.printf("Recall@10 (efSearch=%d): %.4f%n", efSearch, index.measureRecall(queries, 10));
+		} catch (IOException e) {
+			System.err.println("[ERROR] " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * A growable binary heap of (row, score) pairs over primitive arrays, ordered either
+	 * highest score first or lowest score first.
+	 */
+	private static class ScoreHeap {
+
+		private int[] rows = new int[16];
+		private double[] scores = new double[16];
+		private int size;
+		private final boolean highestFirst; // true: max-heap, false: min-heap
+
+		ScoreHeap(boolean highestFirst) {
+			this.highestFirst = highestFirst;
+		}
+
+		int size() {
+			return size;
+		}
+
+		double peekScore() {
+			return scores[0];
+		}
+
+		void push(int row, double score) {//Big-O Notation: O(log n)
+			if (size == rows.length) {
+				rows = Arrays.copyOf(rows, size * 2);
+				scores = Arrays.copyOf(scores, size * 2);
+			}
+			int index = size++;
+			rows[index] = row;
+			scores[index] = score;
+			while (index > 0) {
+				int parent = (index - 1) >>> 1;
+				if (!before(index, parent)) {
+					break;
+				}
+				swap(index, parent);
+				index = parent;
+			}
+		}
+
+		int pop() {//Big-O Notation: O(log n)
+			int top = rows[0];
+			size--;
+			rows[0] = rows[size];
+			scores[0] = scores[size];
+			int index = 0;
+			while (true) {
+				int first = index;
+				int left = 2 * index + 1;
+				int right = left + 1;
+				if (left < size && before(left, first)) {
+					first = left;
+				}
+				if (right < size && before(right, first)) {
+					first = right;
+				}
+				if (first == index) {
+					return top;
+				}
+				swap(index, first);
+				index = first;
+			}
+		}
+
+		// Empties the heap into arrays ordered from highest to lowest score
+		void drainDescending(int[] rowsOut, double[] scoresOut) {//Big-O Notation: O(n log n)
+			int count = size;
+			for (int i = 0; i < count; i++) {
+				int position = highestFirst ? i : count - 1 - i;
+				scoresOut[position] = scores[0];
+				rowsOut[position] = pop();
+			}
+		}
+
+		private boolean before(int a, int b) {
+			return highestFirst ? scores[a] > scores[b] : scores[a] < scores[b];
+		}
+
+		private void swap(int a, int b) {
+			int row = rows[a];
+			rows[a] = rows[b];
+			rows[b] = row;
+			double score = scores[a];
+			scores[a] = scores[b];
+			scores[b] = score;
+		}
+	}
+
+}
@@ -1,8 +1,9 @@
 
 package ie.atu.sw;
 
-import java.io.FileWriter;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.file.Path;
 
 //Considered using Google GSON in implmentation but decided against due to potential dependencies
 // for JAR Export
@@ -15,6 +16,8 @@ import java.io.IOException;
  *
  * @see OutputStrategy
  * @see FileAndConsoleOutput
+ * @see NdjsonOutputStrategy
+ * @see JsonWriter
  * @see TextSimplifier
  *
  * @author Declan O'Meara
@@ -27,63 +30,104 @@ public class JsonOutputStrategy implements OutputStrategy {
 	// https://www.json.org/json-en.html
 	// Considered using Google GSON in implmentation but decided against due to potential dependencies for JAR Export
 	/**
-     * Outputs the result of the text simplification process in JSON format.
+     * Starts the output of a run in JSON format.
      * <p>
      * The JSON includes details about the input text, simplified text, similarity
-     * calculation method, and a summary of the processing results.
+     * calculation method, and a summary of the processing results. It is written to the
+     * file as it is generated by a {@link JsonWriter}, with every string fully escaped,
+     * and only its location is printed to the console. The input text is written as its
+     * lines arrive; the simplified lines are held in a {@link LineSpool} until it is
+     * complete.
      * </p>
      *
-     * @param inputText          The original input text.
-     * @param simplifiedText     The simplified version of the input text.
      * @param similarityMethod   The similarity calculation method used (e.g., Cosine, Dot Product).
-     * @param wordsToSimplify    The number of words that were identified for simplification.
-     * @param wordsInGoogle1000  The number of words already present in the Google-1000 dataset.
-     * @param wordsNotInEmbeddings The number of words not found in the embeddings file.
      * @param outputFilePath     The file path where the JSON output should be saved.
-     * 
-     * 
+     * @return A sink for the lines of the run.
+     * @throws IOException If the file cannot be opened.
      */
     @Override
-    public void outputResult(String inputText, String simplifiedText, SimilarityCalculationType similarityMethod,
-            int wordsToSimplify, int wordsInGoogle1000, int wordsNotInEmbeddings, String outputFilePath) {//Big-O Notation: O(1) complexity scales linearly with size of strings
-         	
-    	// Create JSON using StringBuilder
-        StringBuilder jsonBuilder = new StringBuilder();
-        jsonBuilder.append("{\n");
+    public OutputSink begin(SimilarityCalculationType similarityMethod, String outputFilePath) throws IOException {//Big-O Notation: O(1) - opens the file
+        JsonWriter json = JsonWriter.open(Path.of(outputFilePath), true);
+        try {
+            json.beginObject();
+            json.name("inputText").beginString();
+            return new Sink(json, new LineSpool(), similarityMethod, outputFilePath);
+        } catch (IOException | RuntimeException e) {
+            json.close();
+            throw e;
+        }
+    }
 
-        // Input text
-        jsonBuilder.append("  \"inputText\": ").append("\"").append(inputText.replace("\n", "\\n")).append("\",\n");
+    /**
+     * Streams the lines of one run into the JSON document.
+     */
+    private static class Sink implements OutputSink {
 
-        // Simplified text
-        jsonBuilder.append("  \"simplifiedText\": ").append("\"").append(simplifiedText.replace("\n", "\\n")).append("\",\n");
+        private final JsonWriter json; // The output file
+        private final LineSpool simplifiedLines; // Held until the input text is complete
+        private final SimilarityCalculationType similarityMethod;
+        private final String outputFilePath;
+        private boolean firstLine = true; // No newline before the first line of a text
 
-        // Similarity method
-        jsonBuilder.append("  \"similarityMethod\": ").append("\"").append(similarityMethod.getDescription()).append("\",\n");
+        Sink(JsonWriter json, LineSpool simplifiedLines, SimilarityCalculationType similarityMethod,
+                String outputFilePath) {
+            this.json = json;
+            this.simplifiedLines = simplifiedLines;
+            this.similarityMethod = similarityMethod;
+            this.outputFilePath = outputFilePath;
+        }
 
-        // Summary section
-        jsonBuilder.append("  \"summary\": {\n");
-        jsonBuilder.append("    \"wordsToSimplify\": ").append(wordsToSimplify).append(",\n");
-        jsonBuilder.append("    \"wordsInGoogle1000\": ").append(wordsInGoogle1000).append(",\n");
-        jsonBuilder.append("    \"wordsNotInEmbeddings\": ").append(wordsNotInEmbeddings).append("\n");
-        jsonBuilder.append("  }\n");
+        @Override
+        public void line(String original, String simplified) throws IOException {//Big-O Notation: O(n) - length of the line
+            writeLine(original);
+            simplifiedLines.add(simplified);
+        }
 
-        jsonBuilder.append("}");
+        @Override
+        public void end(SimplificationStats stats, RunMetrics metrics) throws IOException {//Big-O Notation: O(n) - every simplified line read back once
+            json.endString();
 
-        // Convert to string
-        String jsonOutput = jsonBuilder.toString();
+            json.name("simplifiedText").beginString();
+            firstLine = true;
+            try (BufferedReader reader = simplifiedLines.read()) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    writeLine(line);
+                }
+            }
+            json.endString();
+            json.name("similarityMethod").value(similarityMethod.getDescription());
 
-        // Print JSON to console
-        System.out.println(jsonOutput);
+            // Summary section
+            json.name("summary").beginObject();
+            json.name("wordsToSimplify").value(stats.getWordsToSimplify());
+            json.name("wordsInGoogle1000").value(stats.getWordsInGoogle1000());
+            json.name("wordsNotInEmbeddings").value(stats.getWordsNotInEmbeddings());
+            json.endObject();
 
-        // Write JSON to file
-        try (FileWriter writer = new FileWriter(outputFilePath)) {
-            writer.write(jsonOutput);
+            // Run metrics
+            if (metrics != null) {
+                json.name("metrics");
+                metrics.writeJson(json);
+            }
+            json.endObject();
+            json.flush();
             System.out.println("[INFO] JSON output written to " + outputFilePath);
-        } catch (IOException e) {
-            System.err.println("[ERROR] Failed to write JSON output: " + e.getMessage());
         }
-    	
-    	
+
+        @Override
+        public void close() throws IOException {
+            try {
+                json.close();
+            } finally {
+                simplifiedLines.close();
+            }
+        }
+
+        // Adds a line to the open text value, separated from the previous one
+        private void writeLine(String line) throws IOException {//Big-O Notation: O(n) - length of the line
+            json.stringPart(firstLine ? "" : "\n").stringPart(line);
+            firstLine = false;
+        }
     }
 }
-
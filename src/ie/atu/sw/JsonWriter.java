@@ -0,0 +1,418 @@
+package ie.atu.sw;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@code JsonWriter} class writes JSON (RFC 8259) incrementally, one token at a
+ * time, so a document is never held in memory as a whole.
+ * <p>
+ * Strings are escaped in full: quotation marks, reverse solidi and every control
+ * character below U+0020 (with the short forms {@code \b \f \n \r \t} where they exist),
+ * as well as U+2028, U+2029 and unpaired surrogates, which are valid JSON but break
+ * JavaScript parsers or cannot be encoded as UTF-8. Runs of characters that need no
+ * escaping are written in one call. A long string can be written in parts with
+ * {@link #beginString()}, {@link #stringPart(CharSequence)} and {@link #endString()}.
+ * </p>
+ * <p>
+ * A pretty writer indents nested values by two spaces, like the original
+ * {@link JsonOutputStrategy} output; a compact writer adds no whitespace. Each complete
+ * top-level value is followed by a newline, so a compact writer produces NDJSON when it
+ * writes several top-level values.
+ * </p>
+ *
+ * <h2>Example:</h2>
+ * <pre>
+ * json.beginObject().name("word").value("café").name("score").value(0.5).endObject();
+ * </pre>
+ *
+ * @see JsonOutputStrategy
+ * @see NdjsonOutputStrategy
+ * @see RunMetrics#writeJson(JsonWriter)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class JsonWriter implements Closeable, Flushable {
+
+	private static final int BUFFER_SIZE = 1 << 16; // Characters buffered before encoding to the channel
+	private static final String HEX = "0123456789abcdef";
+
+	// Scopes of the nesting stack
+	private static final byte EMPTY_OBJECT = 0;
+	private static final byte OBJECT = 1;
+	private static final byte EMPTY_ARRAY = 2;
+	private static final byte ARRAY = 3;
+
+	private final Writer out;
+	private final boolean pretty; // Newlines and two-space indentation between members
+	private byte[] scopes = new byte[16]; // Open objects and arrays, innermost last
+	private int depth; // Number of open scopes
+	private boolean nameWritten; // A member name is waiting for its value
+	private boolean inString; // A string value is being written in parts
+
+	/**
+	 * Constructs a {@code JsonWriter} over a character stream.
+	 *
+	 * @param out    The stream to write to; buffer it for speed.
+	 * @param pretty {@code true} to indent, {@code false} for compact output.
+	 */
+	public JsonWriter(Writer out, boolean pretty) {
+		this.out = out;
+		this.pretty = pretty;
+	}
+
+	/**
+	 * Opens a UTF-8 JSON file, written through a {@link FileChannel} with a large buffer.
+	 *
+	 * @param path   The file to create or replace.
+	 * @param pretty {@code true} to indent, {@code false} for compact output.
+	 * @return A writer to the file; close it to flush.
+	 * @throws IOException If the file cannot be opened.
+	 */
+	public static JsonWriter open(Path path, boolean pretty) throws IOException {//Big-O Notation: O(1)
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+		return new JsonWriter(writer, pretty);
+	}
+
+	/**
+	 * Starts an object.
+	 *
+	 * @return This writer.
+	 * @throws IOException If the stream cannot be written.
+	 */
+	public JsonWriter beginObject() throws IOException {//Big-O Notation: O(1) amortised
+		beforeValue();
+		push(EMPTY_OBJECT);
+		out.write('{');
+		return this;
+	}
+
+	/**
+	 * Ends the current object.
+	 *
+	 * @return This writer.
+	 * @throws IOException If the stream cannot be written.
+	 * @throws IllegalStateException If no object is open or a member has no value.
+	 */
+	public JsonWriter endObject() throws IOException {//Big-O Notation: O(depth) - indentation
+		return close(EMPTY_OBJECT, OBJECT, '}');
+	}
+
+	/**
+	 * Starts an array.
+	 *
+	 * @return This writer.
+	 * @throws IOException If the stream cannot be written.
+	 */
+	public JsonWriter beginArray() throws IOException {//Big-O Notation: O(1) amortised
+		beforeValue();
+		push(EMPTY_ARRAY);
+		out.write('[');
+		return this;
+	}
+
+	/**
+	 * Ends the current array.
+	 *
+	 * @return This writer.
+	 * @throws IOException If the stream cannot be written.
+	 * @throws IllegalStateException If no array is open.
+	 */
+	public JsonWriter endArray() throws IOException {//Big-O Notation: O(depth) - indentation
+		return close(EMPTY_ARRAY, ARRAY, ']');
+	}
+
+	/**
+	 * Writes the name of the next member of the current object.
+	 *
+	 * @param name The member name.
+	 * @return This writer.
+	 * @throws IOException If the stream cannot be written.
+	 * @throws IllegalStateException If no object is open or the previous name has no value.
+	 */
+	public JsonWriter name(String name) throws IOException {//Big-O Notation: O(n) - length of the name
+		checkNotInString();
+		byte scope = depth == 0 ? -1 : scopes[depth - 1];
+		if ((scope != EMPTY_OBJECT && scope != OBJECT) || nameWritten) {
+			throw new IllegalStateException("A name must follow an object start or a member value");
+		}
+		if (scope == OBJECT) {
+			out.write(',');
+		}
+		scopes[depth - 1] = OBJECT;
+		newlineAndIndent();
+		writeQuoted(name);
+		out.write(pretty ? ": " : ":");
+		nameWritten = true;
+		return this;
+	}
+
+	/**
+	 * Writes a string value, or {@code null}.
+	 *
+	 * @param value The text.
+	 * @return This writer.
+	 * @throws IOException If the stream cannot be written.
+	 */
+	public JsonWriter value(CharSequence value) throws IOException {//Big-O Notation: O(n) - length of the value
+		beforeValue();
+		if (value == null) {
+			out.write("null");
+		} else {
+			writeQuoted(value);
+		}
+		return afterValue();
+	}
+
+	/**
+	 * Writes an integer value.
+	 *
+	 * @param value The number.
+	 * @return This writer.
+	 * @throws IOException If the stream cannot be written.
+	 */
+	public JsonWriter value(long value) throws IOException {//Big-O Notation: O(1)
+		beforeValue();
+		out.write(Long.toString(value));
+		return afterValue();
+	}
+
+	/**
+	 * Writes a number value. NaN and infinities have no JSON form and are written as
+	 * {@code null}.
+	 *
+	 * @param value The number.
+	 * @return This writer.
+	 * @throws IOException If the stream cannot be written.
+	 */
+	public JsonWriter value(double value) throws IOException {//Big-O Notation: O(1)
+		beforeValue();
+		out.write(Double.isFinite(value) ? Double.toString(value) : "null");
+		return afterValue();
+	}
+
+	/**
+	 * Writes a boolean value.
+	 *
+	 * @param value The boolean.
+	 * @return This writer.
+	 * @throws IOException If the stream cannot be written.
+	 */
+	public JsonWriter value(boolean value) throws IOException {//Big-O Notation: O(1)
+		beforeValue();
+		out.write(value ? "true" : "false");
+		return afterValue();
+	}
+
+	/**
+	 * Starts a string value that is written in parts, for text too long to hold at once.
+	 *
+	 * @return This writer.
+	 * @throws IOException If the stream cannot be written.
+	 */
+	public JsonWriter beginString() throws IOException {//Big-O Notation: O(1)
+		beforeValue();
+		out.write('"');
+		inString = true;
+		return this;
+	}
+
+	/**
+	 * Writes the next part of the current string value. A part should not end between
+	 * the two halves of a surrogate pair, or the halves are escaped separately.
+	 *
+	 * @param part The text to add.
+	 * @return This writer.
+	 * @throws IOException If the stream cannot be written.
+	 * @throws IllegalStateException If no string has been started.
+	 */
+	public JsonWriter stringPart(CharSequence part) throws IOException {//Big-O Notation: O(n) - length of the part
+		if (!inString) {
+			throw new IllegalStateException("No string to add to");
+		}
+		appendEscaped(out, part);
+		return this;
+	}
+
+	/**
+	 * Ends the current string value.
+	 *
+	 * @return This writer.
+	 * @throws IOException If the stream cannot be written.
+	 * @throws IllegalStateException If no string has been started.
+	 */
+	public JsonWriter endString() throws IOException {//Big-O Notation: O(1)
+		if (!inString) {
+			throw new IllegalStateException("No string to end");
+		}
+		inString = false;
+		out.write('"');
+		return afterValue();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+
+	/**
+	 * Quotes and escapes a string as a JSON string literal.
+	 *
+	 * @param value The text.
+	 * @return The literal, including its quotation marks.
+	 */
+	public static String quote(CharSequence value) {//Big-O Notation: O(n) - length of the value
+		StringBuilder quoted = new StringBuilder(value.length() + 2);
+		try {
+			appendQuoted(quoted, value);
+		} catch (IOException e) {
+			throw new AssertionError(e); // A StringBuilder does not throw
+		}
+		return quoted.toString();
+	}
+
+	// Writes a quoted string, copying runs of safe characters in one call
+	private void writeQuoted(CharSequence value) throws IOException {//Big-O Notation: O(n) - length of the value
+		appendQuoted(out, value);
+	}
+
+	// Quotes and escapes a string
+	private static void appendQuoted(Appendable out, CharSequence value) throws IOException {//Big-O Notation: O(n) - length of the value
+		out.append('"');
+		appendEscaped(out, value);
+		out.append('"');
+	}
+
+	// Escapes per RFC 8259 section 7, plus U+2028, U+2029 and unpaired surrogates
+	private static void appendEscaped(Appendable out, CharSequence value) throws IOException {//Big-O Notation: O(n) - length of the value
+		int runStart = 0;
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			String escape = null;
+			if (c == '"') {
+				escape = "\\\"";
+			} else if (c == '\\') {
+				escape = "\\\\";
+			} else if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+				escape = switch (c) {
+				case '\b' -> "\\b";
+				case '\f' -> "\\f";
+				case '\n' -> "\\n";
+				case '\r' -> "\\r";
+				case '\t' -> "\\t";
+				default -> unicodeEscape(c);
+				};
+			} else if (Character.isSurrogate(c)) {
+				boolean paired = Character.isHighSurrogate(c) && i + 1 < length
+						&& Character.isLowSurrogate(value.charAt(i + 1));
+				if (paired) {
+					i++; // Keep the pair together as one code point
+					continue;
+				}
+				escape = unicodeEscape(c);
+			}
+			if (escape != null) {
+				out.append(value, runStart, i).append(escape);
+				runStart = i + 1;
+			}
+		}
+		out.append(value, runStart, length);
+	}
+
+	// Escapes a character as a backslash-u sequence
+	private static String unicodeEscape(char c) {//Big-O Notation: O(1)
+		return new String(new char[] { '\\', 'u', HEX.charAt(c >> 12), HEX.charAt((c >> 8) & 0xF),
+				HEX.charAt((c >> 4) & 0xF), HEX.charAt(c & 0xF) });
+	}
+
+	// Writes the separator a value needs in its scope
+	private void beforeValue() throws IOException {//Big-O Notation: O(depth) - indentation
+		checkNotInString();
+		if (depth == 0) {
+			return;
+		}
+		byte scope = scopes[depth - 1];
+		if (scope == EMPTY_OBJECT || scope == OBJECT) {
+			if (!nameWritten) {
+				throw new IllegalStateException("An object member needs a name before its value");
+			}
+			nameWritten = false;
+			return;
+		}
+		if (scope == ARRAY) {
+			out.write(',');
+		}
+		scopes[depth - 1] = ARRAY;
+		newlineAndIndent();
+	}
+
+	// Ends a top-level value with a newline, which separates NDJSON records
+	private JsonWriter afterValue() throws IOException {//Big-O Notation: O(1)
+		if (depth == 0) {
+			out.write('\n');
+		}
+		return this;
+	}
+
+	// Closes the innermost scope if it is of the expected kind
+	private JsonWriter close(byte emptyScope, byte nonEmptyScope, char bracket) throws IOException {//Big-O Notation: O(depth) - indentation
+		checkNotInString();
+		byte scope = depth == 0 ? -1 : scopes[depth - 1];
+		if ((scope != emptyScope && scope != nonEmptyScope) || nameWritten) {
+			throw new IllegalStateException("Nothing to close with " + bracket);
+		}
+		depth--;
+		if (scope == nonEmptyScope) {
+			newlineAndIndent();
+		}
+		out.write(bracket);
+		return afterValue();
+	}
+
+	// Rejects other tokens inside a string written in parts
+	private void checkNotInString() {//Big-O Notation: O(1)
+		if (inString) {
+			throw new IllegalStateException("A string is still open");
+		}
+	}
+
+	// Opens a scope, growing the stack if needed
+	private void push(byte scope) {//Big-O Notation: O(1) amortised
+		if (depth == scopes.length) {
+			byte[] grown = new byte[depth * 2];
+			System.arraycopy(scopes, 0, grown, 0, depth);
+			scopes = grown;
+		}
+		scopes[depth++] = scope;
+	}
+
+	// Starts a new line at the current depth in pretty mode
+	private void newlineAndIndent() throws IOException {//Big-O Notation: O(depth)
+		if (!pretty) {
+			return;
+		}
+		out.write('\n');
+		for (int i = 0; i < depth; i++) {
+			out.write("  ");
+		}
+	}
+
+}
@@ -0,0 +1,135 @@
+package ie.atu.sw;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code LatencyHistogram} class counts durations in power-of-two buckets of
+ * nanoseconds, so that percentiles can be reported without keeping every sample.
+ * <p>
+ * Bucket {@code b} holds durations in {@code [2^(b-1), 2^b)} nanoseconds, so a reported
+ * percentile is the upper bound of its bucket: at most twice the true value. That is
+ * precise enough to spot a regression or a slow tail, at a fixed 64 counters whatever
+ * the number of samples. Counters are {@link LongAdder}s, so worker threads can record
+ * at the same time without contending on one lock.
+ * </p>
+ *
+ * @see RunMetrics
+ * @see TextSimplifier#setSearchLatency(LatencyHistogram)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class LatencyHistogram {
+
+	private static final int BUCKETS = 64; // One bucket per bit of a long
+
+	private final LongAdder[] buckets; // Sample counts by highest set bit of the duration
+	private final LongAdder totalNanos; // Sum of all durations, for the mean
+	private final LongAccumulator maxNanos; // Longest duration recorded
+
+	/**
+	 * Constructs an empty {@code LatencyHistogram}.
+	 */
+	public LatencyHistogram() {
+		this.buckets = new LongAdder[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+		this.totalNanos = new LongAdder();
+		this.maxNanos = new LongAccumulator(Math::max, 0);
+	}
+
+	/**
+	 * Records one duration.
+	 *
+	 * @param nanos The duration in nanoseconds.
+	 */
+	public void record(long nanos) {//Big-O Notation: O(1) - one bucket increment
+		long value = Math.max(0, nanos);
+		buckets[BUCKETS - Long.numberOfLeadingZeros(value)].increment(); // 0 goes to bucket 0
+		totalNanos.add(value);
+		maxNanos.accumulate(value);
+	}
+
+	/**
+	 * Retrieves the number of recorded durations.
+	 *
+	 * @return The sample count.
+	 */
+	public long getCount() {//Big-O Notation: O(1) - fixed number of buckets
+		long count = 0;
+		for (LongAdder bucket : buckets) {
+			count += bucket.sum();
+		}
+		return count;
+	}
+
+	/**
+	 * Retrieves the mean duration.
+	 *
+	 * @return The mean in nanoseconds, or {@code 0} if nothing was recorded.
+	 */
+	public double getMeanNanos() {//Big-O Notation: O(1) - fixed number of buckets
+		long count = getCount();
+		return count == 0 ? 0 : (double) totalNanos.sum() / count;
+	}
+
+	/**
+	 * Retrieves the longest duration.
+	 *
+	 * @return The maximum in nanoseconds, or {@code 0} if nothing was recorded.
+	 */
+	public long getMaxNanos() {//Big-O Notation: O(1)
+		return maxNanos.get();
+	}
+
+	/**
+	 * Estimates a percentile as the upper bound of the bucket that contains it.
+	 *
+	 * @param percentile The percentile, from {@code 0} to {@code 100}.
+	 * @return The estimate in nanoseconds, never more than the maximum, or {@code 0} if
+	 *         nothing was recorded.
+	 */
+	public long getPercentileNanos(double percentile) {//Big-O Notation: O(1) - fixed number of buckets
+		long count = getCount();
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+		long seen = 0;
+		for (int b = 0; b < BUCKETS; b++) {
+			seen += buckets[b].sum();
+			if (seen >= rank) {
+				return Math.min(upperBound(b), getMaxNanos());
+			}
+		}
+		return getMaxNanos();
+	}
+
+	/**
+	 * Retrieves the sample count of every non-empty bucket.
+	 *
+	 * @return Pairs of (bucket upper bound in nanoseconds, count), in increasing order.
+	 */
+	public long[][] getBuckets() {//Big-O Notation: O(1) - fixed number of buckets
+		int used = 0;
+		long[][] all = new long[BUCKETS][];
+		for (int b = 0; b < BUCKETS; b++) {
+			long count = buckets[b].sum();
+			if (count > 0) {
+				all[used++] = new long[] { upperBound(b), count };
+			}
+		}
+		long[][] nonEmpty = new long[used][];
+		System.arraycopy(all, 0, nonEmpty, 0, used);
+		return nonEmpty;
+	}
+
+	// Largest duration that falls in a bucket; wraps to Long.MAX_VALUE for the last one
+	private static long upperBound(int bucket) {//Big-O Notation: O(1)
+		return (1L << bucket) - 1;
+	}
+
+}
@@ -0,0 +1,80 @@
+package ie.atu.sw;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The {@code LineSpool} class holds lines in a temporary file until they can be written,
+ * for outputs that show the whole input before the whole simplified text.
+ * <p>
+ * An {@link OutputSink} writes the input lines straight through and spools the
+ * simplified lines, so memory use stays constant however long the text is. The lines
+ * are encoded and written by an {@link AsyncFileWriter}, off the calling thread, and
+ * the file is deleted when the spool is closed.
+ * </p>
+ *
+ * @see FileAndConsoleOutput
+ * @see JsonOutputStrategy
+ * @see AsyncFileWriter
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class LineSpool implements Closeable {
+
+	private final Path file; // Temporary file holding the lines
+	private final Writer writer; // Written off the calling thread until the lines are read back
+
+	/**
+	 * Creates an empty spool in the default temporary directory.
+	 *
+	 * @throws IOException If the temporary file cannot be created.
+	 */
+	public LineSpool() throws IOException {
+		file = Files.createTempFile("simplifier-", ".spool");
+		writer = new AsyncFileWriter(file);
+	}
+
+	/**
+	 * Appends a line. Lines cannot contain line terminators.
+	 *
+	 * @param line The line to hold.
+	 * @throws IOException If the line cannot be written.
+	 */
+	public void add(String line) throws IOException {//Big-O Notation: O(n) - length of the line
+		writer.write(line);
+		writer.write('\n');
+	}
+
+	/**
+	 * Finishes writing and opens the lines for reading, in the order they were added.
+	 *
+	 * @return A reader of the spooled lines; close it after use.
+	 * @throws IOException If the file cannot be flushed or opened.
+	 */
+	public BufferedReader read() throws IOException {//Big-O Notation: O(1)
+		writer.close();
+		return Files.newBufferedReader(file, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Deletes the spooled lines.
+	 *
+	 * @throws IOException If the file cannot be deleted.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			writer.close();
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+}
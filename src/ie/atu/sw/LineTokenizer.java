@@ -0,0 +1,135 @@
+package ie.atu.sw;
+
+/**
+ * The {@code LineTokenizer} class splits a line of text into tokens by scanning its
+ * characters once, without regular expressions and without creating a {@code String}
+ * per token.
+ * <p>
+ * Tokens are separated by whitespace. Each token is described by offsets into the line:
+ * its leading punctuation, its core word, and its trailing punctuation. For example
+ * {@code "(dog),"} has the core {@code dog}. Letters, digits and the characters inside a
+ * word such as {@code '-'} in {@code "well-written"} belong to the core. A token with no
+ * letters or digits is all core. The whitespace before each token is reported too, so the
+ * caller can rebuild the line with its original spacing.
+ * </p>
+ *
+ * <h2>Usage:</h2>
+ * <pre>
+ * LineTokenizer tokenizer = new LineTokenizer(line);
+ * while (tokenizer.next()) {
+ *     // line[gapStart, start) whitespace, [start, coreStart) punctuation,
+ *     // [coreStart, coreEnd) word, [coreEnd, end) punctuation
+ * }
+ * // line[gapStart, line.length()) trailing whitespace
+ * </pre>
+ *
+ * @see TokenSlice
+ * @see TextSimplifier#simplifyLine(String, SimplificationStats)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class LineTokenizer {
+
+	private final CharSequence line; // The text being scanned
+	private int gapStart; // Start of the whitespace before the current token
+	private int start; // Start of the current token
+	private int coreStart; // Start of the word inside the token
+	private int coreEnd; // End of the word inside the token
+	private int end; // End of the current token
+
+	/**
+	 * Constructs a {@code LineTokenizer} positioned before the first token.
+	 *
+	 * @param line The line to scan.
+	 */
+	public LineTokenizer(CharSequence line) {
+		this.line = line;
+	}
+
+	/**
+	 * Advances to the next token.
+	 *
+	 * @return {@code true} if there is another token, {@code false} at the end of the line.
+	 */
+	public boolean next() {//Big-O Notation: O(l) - scans the token and the whitespace before it
+		int length = line.length();
+		gapStart = end;
+		start = end;
+		while (start < length && Character.isWhitespace(line.charAt(start))) {
+			start++;
+		}
+		if (start == length) {
+			end = length;
+			return false;
+		}
+
+		end = start;
+		while (end < length && !Character.isWhitespace(line.charAt(end))) {
+			end++;
+		}
+
+		// The core runs from the first to the last letter or digit of the token
+		coreStart = start;
+		while (coreStart < end && !Character.isLetterOrDigit(line.charAt(coreStart))) {
+			coreStart++;
+		}
+		coreEnd = end;
+		while (coreEnd > coreStart && !Character.isLetterOrDigit(line.charAt(coreEnd - 1))) {
+			coreEnd--;
+		}
+		if (coreStart == coreEnd) {
+			coreStart = start; // Only punctuation: the whole token is the word
+			coreEnd = end;
+		}
+		return true;
+	}
+
+	/**
+	 * Retrieves the start of the whitespace before the current token. After
+	 * {@link #next()} returns {@code false}, this is the start of the trailing whitespace.
+	 *
+	 * @return The offset in the line.
+	 */
+	public int gapStart() {//Big-O Notation: O(1)
+		return gapStart;
+	}
+
+	/**
+	 * Retrieves the start of the current token, including leading punctuation.
+	 *
+	 * @return The offset in the line.
+	 */
+	public int start() {//Big-O Notation: O(1)
+		return start;
+	}
+
+	/**
+	 * Retrieves the start of the word inside the current token.
+	 *
+	 * @return The offset in the line.
+	 */
+	public int coreStart() {//Big-O Notation: O(1)
+		return coreStart;
+	}
+
+	/**
+	 * Retrieves the end of the word inside the current token.
+	 *
+	 * @return The offset in the line.
+	 */
+	public int coreEnd() {//Big-O Notation: O(1)
+		return coreEnd;
+	}
+
+	/**
+	 * Retrieves the end of the current token, including trailing punctuation.
+	 *
+	 * @return The offset in the line.
+	 */
+	public int end() {//Big-O Notation: O(1)
+		return end;
+	}
+
+}
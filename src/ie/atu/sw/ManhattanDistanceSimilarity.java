@@ -41,6 +41,24 @@ public class ManhattanDistanceSimilarity implements SimilarityStrategy {
             sum += Math.abs(vector1[i] - vector2[i]);
         }
 
+        return -sum; // Negate for consistency (higher is better)
+	}
+	/**
+     * Calculates the Manhattan distance between a vector and a row of a matrix.
+     *
+     * @param vector The query vector.
+     * @param matrix The row-major matrix holding the other vector.
+     * @param offset The start of the row in {@code matrix}.
+     * @return A double representing the negated Manhattan distance.
+     */
+	@Override
+	public double calculate(float[] vector, float[] matrix, int offset) {//Big-O Notation: O(n) - single pass over the row
+		double sum = 0;
+
+		for (int i = 0; i < vector.length; i++) {
+            sum += Math.abs(vector[i] - matrix[offset + i]);
+        }
+
         return -sum; // Negate for consistency (higher is better)
 	}
 	/**
@@ -1,8 +1,10 @@
 package ie.atu.sw;
 
 import java.io.File;
-import java.util.List;
+import java.io.IOException;
+import java.util.Locale;
 import java.util.Scanner;
+import java.util.StringJoiner;
 
 /**
  * The {@code Menu} class provides the user interface for the text simplifier application.
@@ -25,6 +27,43 @@ import java.util.Scanner;
  * <li>Show help information or exit the application.</li>
  * </ul>
  *
+ * <p>
+ * Replacements are memoised in a {@link ReplacementCache} shared between executions.
+ * If the {@code simplifier.cache.snapshot} system property names a file, the cache is
+ * loaded from it by the first execution, unless it was built from other embeddings or
+ * Google-1000 files or with another search (int8 storage or an HNSW graph), and saved
+ * to it on exit.
+ * </p>
+ * <p>
+ * Setting the {@code simplifier.embeddings.storage} system property to {@code quantized}
+ * keeps the embeddings as int8 {@link QuantizedEmbeddings} and searches the targets on
+ * their int8 codes before re-ranking with the float vectors, and {@code off_heap} keeps
+ * them in {@link OffHeapEmbeddings}, see {@link EmbeddingStorage}.
+ * </p>
+ * <p>
+ * If the {@code simplifier.replacement.table} system property names a
+ * {@link ReplacementTable} file, the table is loaded at start-up and every replacement is
+ * looked up in it: the embeddings and Google-1000 files are not needed, and the table
+ * must hold the replacements of the selected similarity measure.
+ * </p>
+ * <p>
+ * If the {@code simplifier.hnsw.graph} system property names a file, searches go through
+ * an {@link HnswIndex}: the graph is read from the file if it exists, or built and
+ * written to it, and reused until the Google-1000 words or the similarity measure change.
+ * A graph file built over other targets or with another measure is rejected, and that
+ * execution scans every target instead.
+ * </p>
+ * <p>
+ * With {@code -Dsimplifier.embeddings.lazy=true} the embeddings and Google-1000 files are
+ * only read when the simplification is executed, and only the vectors of words in the
+ * text or the Google-1000 list are kept.
+ * </p>
+ * <p>
+ * Every execution reports the wall time and throughput of each phase through
+ * {@link RunMetrics}. If the {@code simplifier.metrics.file} system property names a
+ * file, the metrics of the last execution are also written to it as JSON.
+ * </p>
+ *
  *
  * @see FileParser
  * @see TextSimplifier
@@ -48,6 +87,24 @@ public class Menu {
 	private String textToSimplifyPath;
 	private SimilarityStrategy calculationStrategy;
 	private OutputStrategy outputStrategy = new FileAndConsoleOutput(); // Default output strategy
+	private final ReplacementCache replacementCache = new ReplacementCache(CACHE_CAPACITY); // Shared between executions
+	private final String cacheSnapshotPath = System.getProperty("simplifier.cache.snapshot"); // Optional, may be null
+	private boolean cacheSnapshotChecked; // Whether an execution has tried to load the snapshot
+	private String embeddingsFingerprint; // Of the embeddings file, for the snapshot header; null until needed
+	private String googleFingerprint; // Of the Google-1000 file, for the snapshot header; null until needed
+	private final String metricsFilePath = System.getProperty("simplifier.metrics.file"); // Optional, may be null
+	private final String replacementTablePath = System.getProperty("simplifier.replacement.table"); // Optional, may be null
+	private ReplacementTable replacementTable; // Loaded from replacementTablePath, otherwise null
+	private final String graphFilePath = System.getProperty("simplifier.hnsw.graph"); // Optional, may be null
+	private HnswIndex nearestNeighbourIndex; // Graph of the last execution, may be null
+	private final RunMetrics loadMetrics = new RunMetrics(); // Timings of the files loaded from the menu
+
+	private final boolean lazyEmbeddings = Boolean.getBoolean("simplifier.embeddings.lazy"); // Load only the words a run needs
+	private final EmbeddingStorage embeddingStorage = embeddingStorageProperty(); // HEAP unless the property names another
+
+	private static final int CACHE_CAPACITY = 100_000; // Maximum cached replacements
+	private static final int PIPELINE_BATCH_SIZE = 256; // Lines handed to a worker at a time
+	private static final int PIPELINE_QUEUE_CAPACITY = 64; // Batches simplified but not yet output
 
 	 /**
      * Constructs a new {@code Menu} instance and initializes default configurations.
@@ -55,7 +112,9 @@ public class Menu {
 	public Menu() {
 		scanner = new Scanner(System.in);
 		this.fileParser = new FileParser();
-		this.calculationStrategy = new CosineSimilarity(); // Default similarity measure
+		this.fileParser.setEmbeddingStorage(embeddingStorage);
+		this.calculationStrategy = SimilarityCalculationType.COSINE.createStrategy(); // Default similarity measure
+		loadReplacementTable();
 
 	}
 	/**
@@ -87,6 +146,7 @@ public class Menu {
 			}
 		}
 		scanner.close();// Release the scanner resource
+		saveCacheSnapshot();
 
 		MessageUtil.displayMessage("[INFO] Program Exiting...Thank you, Goodbye", ConsoleColour.BLUE_BOLD);
 	}
@@ -171,16 +231,38 @@ public class Menu {
 		// Assign to correct variable
 		switch (fileType.toLowerCase()) {
 		case "word embeddings" -> {
+			if (embeddingsFilePath != null) {
+				replacementCache.clear(); // Cached replacements are stale once the vectors change
+			}
 			embeddingsFilePath = filePath;
+			embeddingsFingerprint = null;
+			if (lazyEmbeddings) {
+				MessageUtil.displayMessage("[INFO] - " + fileType + " file will be loaded on execution", ConsoleColour.BLUE_BOLD);
+				return;
+			}
+			long start = System.nanoTime();
 			fileParser.loadEmbeddingsFile(filePath);
+			loadMetrics.record(RunMetrics.Phase.EMBEDDINGS, System.nanoTime() - start, fileParser.getEmbeddings().size());
 		}
 		case "google 1000" -> {
+			if (googleFilePath != null) {
+				replacementCache.clear();
+			}
 			googleFilePath = filePath;
+			googleFingerprint = null;
+			if (lazyEmbeddings) {
+				MessageUtil.displayMessage("[INFO] - " + fileType + " file will be loaded on execution", ConsoleColour.BLUE_BOLD);
+				return;
+			}
+			long start = System.nanoTime();
 			fileParser.loadGoogleWordsFile(filePath);
+			loadMetrics.record(RunMetrics.Phase.GOOGLE_WORDS, System.nanoTime() - start, fileParser.getGoogleWordIndex().size());
 		}
 		case "text to simplify" -> {
 			textToSimplifyPath = filePath;
+			long start = System.nanoTime();
 			fileParser.loadTextToSimplify(filePath);
+			loadMetrics.record(RunMetrics.Phase.TEXT, System.nanoTime() - start, fileParser.getTextToSimpify().size());
 		}
 		default -> MessageUtil.displayMessage("[ERROR] Unknown file type.", ConsoleColour.RED_BOLD);
 		
@@ -213,6 +295,9 @@ public class Menu {
 		System.out.println("Word Embeddings File Path: " + (embeddingsFilePath != null ? embeddingsFilePath : ConsoleColour.RED_BOLD + "Not Set" + ConsoleColour.RESET));
 		System.out.println("Google-1000 Words File Path: " + (googleFilePath != null ? googleFilePath : ConsoleColour.RED_BOLD + "Not Set" + ConsoleColour.RESET));
 		System.out.println("Text-to-Simplify File Path: " + (textToSimplifyPath != null ? textToSimplifyPath : ConsoleColour.RED_BOLD + "Not Set" + ConsoleColour.RESET));
+		if (replacementTable != null) {
+			System.out.println("Replacement Table File Path: " + replacementTablePath);
+		}
 		System.out.println("Output File Path: " + (outputFilePath != null ? outputFilePath : ConsoleColour.RED_BOLD + "Not Set" + ConsoleColour.RESET));
 		System.out.println(ConsoleColour.BLUE_BOLD + "************************************************************"+ ConsoleColour.RESET);
 	}
@@ -224,6 +309,7 @@ public class Menu {
 	 * @see OutputStrategy
 	 * @see FileAndConsoleOutput
 	 * @see JsonOutputStrategy
+	 * @see NdjsonOutputStrategy
 	 */
 	public void setOutputStrategy(OutputStrategy strategy) {//Big-O Notation: O(1) constant time operation
 		this.outputStrategy = strategy;
@@ -256,15 +342,16 @@ public class Menu {
 		System.out.print("Enter your choice: ");
 		int choice = getUserInput();
 
+		// Uses the SIMD implementation when the Vector API is available
 		calculationStrategy = switch (choice) {
-		case 1 -> new CosineSimilarity();
-		case 2 -> new DotProductSimilarity();
-		case 3 -> new EuclideanDistanceSimilarity();
-		case 4 -> new ManhattanDistanceSimilarity();
+		case 1 -> SimilarityCalculationType.COSINE.createStrategy();
+		case 2 -> SimilarityCalculationType.DOT_PRODUCT.createStrategy();
+		case 3 -> SimilarityCalculationType.EUCLIDEAN.createStrategy();
+		case 4 -> SimilarityCalculationType.MANHATTAN.createStrategy();
 		default -> {
 			MessageUtil.displayMessage("[ERROR] Invalid choice. Defaulting to Cosine Similarity.",
 					ConsoleColour.RED_BOLD);
-			yield new CosineSimilarity();
+			yield SimilarityCalculationType.COSINE.createStrategy();
 		}
 		};
 		
@@ -277,6 +364,8 @@ public class Menu {
 	 * <ul>
 	 * <li>File and Console Output</li>
 	 * <li>JSON Output</li>
+	 * <li>NDJSON Output, one record per line</li>
+	 * <li>Quiet File Output, with a console preview of the first lines</li>
 	 * </ul>
 	 * Defaults to File and Console Output if invalid selection.
 	 * 
@@ -287,6 +376,8 @@ public class Menu {
 	        Select Output Strategy:
 	        (1) File and Console Output
 	        (2) JSON Output
+	        (3) NDJSON Output
+	        (4) Quiet File Output (console preview only, for large files)
 	        """ + ConsoleColour.RESET);
 	    System.out.print("Enter your choice: ");
 	    int choice = getUserInput();
@@ -294,6 +385,8 @@ public class Menu {
 	    switch (choice) {
 	        case 1 -> setOutputStrategy(new FileAndConsoleOutput());
 	        case 2 -> setOutputStrategy(new JsonOutputStrategy());
+	        case 3 -> setOutputStrategy(new NdjsonOutputStrategy());
+	        case 4 -> setOutputStrategy(FileAndConsoleOutput.quiet());
 	        default -> MessageUtil.displayMessage("[ERROR] Invalid choice. Defaulting to File and Console Output.", ConsoleColour.RED_BOLD);
 	    }
 	}
@@ -302,16 +395,19 @@ public class Menu {
 	 * Executes the text simplification process using configured settings.
 	 * <p>
 	 * Validates that all required files are loaded and a similarity measure
-	 * is selected before proceeding. Uses the selected output strategy to
-	 * display and save results.
+	 * is selected before proceeding. The text file is streamed through a
+	 * {@link SimplificationPipeline} into the selected output strategy, so each
+	 * line is displayed and saved as soon as it is simplified.
 	 * </p>
 	 * 
 	 * 
 	 * @see TextSimplifier
+	 * @see SimplificationPipeline
 	 * @see OutputStrategy
 	 */
 	private void executeTextSimplification() {//Big-O Notation: O(n) - loading, simplifying and outputting
-		if (embeddingsFilePath == null || googleFilePath == null || textToSimplifyPath == null) {
+		if ((replacementTable == null && (embeddingsFilePath == null || googleFilePath == null))
+				|| textToSimplifyPath == null) {
 			MessageUtil.displayMessage("[ERROR] Ensure all required files are loaded before executing.",
 					ConsoleColour.RED_BOLD);
 			return;
@@ -323,34 +419,213 @@ public class Menu {
         }
 		
 		try {
-			List<String> textLines = fileParser.getTextToSimpify();
-
-			TextSimplifier simplifier = new TextSimplifier(fileParser.getEmbeddings(), fileParser.getGoogleWords(),
-					calculationStrategy);
-
-			List<String> simplifiedText = simplifier.simplifyText(textLines);
-
-			// Retrieve the counters from TextSimplifier
-			int wordsToSimplify = simplifier.getWordsToSimplify();
-			int wordsInGoogle1000 = simplifier.getWordsInGoogle1000();
-			int wordsNotInEmbeddings = simplifier.getWordsNotInEmbeddings();
-			
-			
-			outputStrategy.outputResult(
-		            String.join("\n", textLines),
-		            String.join("\n", simplifiedText),
-		            calculationStrategy.getCalculationType(),
-		            wordsToSimplify,
-		            wordsInGoogle1000,
-		            wordsNotInEmbeddings,
-		            outputFilePath
-		        );
+			RunMetrics metrics = loadMetrics.startRun();
+			if (lazyEmbeddings && replacementTable == null) {
+				// Read only the vectors this text can look up
+				long start = System.nanoTime();
+				fileParser.loadEmbeddingsFile(embeddingsFilePath,
+						fileParser.collectVocabulary(fileParser.getTextToSimpify(), googleFilePath));
+				metrics.record(RunMetrics.Phase.EMBEDDINGS, System.nanoTime() - start, fileParser.getEmbeddings().size());
+				start = System.nanoTime();
+				fileParser.loadGoogleWordsFile(googleFilePath);
+				metrics.record(RunMetrics.Phase.GOOGLE_WORDS, System.nanoTime() - start, fileParser.getGoogleWordIndex().size());
+			}
+
+			TextSimplifier simplifier;
+			if (replacementTable != null) {
+				// Every replacement is a lookup; fails if the table lacks the selected measure
+				simplifier = new TextSimplifier(replacementTable, calculationStrategy.getCalculationType());
+			} else {
+				loadCacheSnapshot();
+				simplifier = new TextSimplifier(fileParser.getEmbeddings(), fileParser.getGoogleWordIndex(),
+						calculationStrategy);
+				if (embeddingStorage == EmbeddingStorage.QUANTIZED) {
+					simplifier.setQuantizedSearch(TextSimplifier.QUANTIZED_RERANK_COUNT); // int8 pass, exact float re-rank
+				}
+				simplifier.setNearestNeighbourIndex(nearestNeighbourIndex());
+			}
+			simplifier.setReplacementCache(replacementCache);
+			simplifier.setSearchLatency(metrics.getSearchLatency());
+			SimplificationPipeline pipeline = new SimplificationPipeline(simplifier,
+					Runtime.getRuntime().availableProcessors(), PIPELINE_BATCH_SIZE, PIPELINE_QUEUE_CAPACITY);
+
+			// Each line goes to the output as soon as it is simplified
+			try (OutputSink output = outputStrategy.begin(calculationStrategy.getCalculationType(), outputFilePath)) {
+				long hitsBefore = replacementCache.getHits();
+				long missesBefore = replacementCache.getMisses();
+				long start = System.nanoTime();
+				SimplificationStats stats = pipeline.run(textToSimplifyPath, output);
+				metrics.record(RunMetrics.Phase.SIMPLIFICATION, System.nanoTime() - start,
+						stats.getWordsToSimplify() + stats.getWordsInGoogle1000() + stats.getWordsNotInEmbeddings());
+				metrics.recordCacheLookups(replacementCache.getHits() - hitsBefore, replacementCache.getMisses() - missesBefore);
+
+				start = System.nanoTime();
+				output.end(stats, metrics);
+				metrics.record(RunMetrics.Phase.OUTPUT, System.nanoTime() - start, stats.getLines());
+			}
+			writeMetricsFile(metrics);
 
 		        MessageUtil.displayMessage("[INFO] Text simplification completed successfully.", ConsoleColour.GREEN_BOLD);
+		        System.out.println("Replacement cache: " + replacementCache.getHits() + " hits, "
+		        		+ replacementCache.getMisses() + " misses, " + replacementCache.size() + " entries");
 
 		    } catch (Exception e) {
 		        MessageUtil.displayMessage("[ERROR] Text simplification failed: " + e.getMessage(), ConsoleColour.RED_BOLD);
 		    }
 	}
 
+	/**
+	 * Writes the metrics of a run to the file named by the {@code simplifier.metrics.file}
+	 * system property, if it is set.
+	 *
+	 * @param metrics The metrics of the run, including its output phase.
+	 */
+	private void writeMetricsFile(RunMetrics metrics) {//Big-O Notation: O(1) - fixed size document
+		if (metricsFilePath == null) {
+			return;
+		}
+		try {
+			metrics.writeJson(metricsFilePath);
+			MessageUtil.displayMessage("[INFO] Run metrics written to " + metricsFilePath, ConsoleColour.BLUE_BOLD);
+		} catch (Exception e) {
+			MessageUtil.displayMessage("[ERROR] Could not write run metrics: " + e.getMessage(), ConsoleColour.RED_BOLD);
+		}
+	}
+
+	/**
+	 * Loads or builds the HNSW graph named by the {@code simplifier.hnsw.graph} system
+	 * property for the current Google-1000 words and similarity measure, reusing the graph
+	 * of the previous execution while both are unchanged.
+	 *
+	 * @return The graph, or {@code null} if the property is not set or the file does not match.
+	 */
+	private HnswIndex nearestNeighbourIndex() {//Big-O Notation: O(1) when reused, O(n * M) to load, O(n log n) to build
+		if (graphFilePath == null) {
+			return null;
+		}
+		TargetIndex targets = fileParser.getGoogleWordIndex();
+		if (nearestNeighbourIndex != null && nearestNeighbourIndex.getTargets() == targets
+				&& nearestNeighbourIndex.getCalculationType() == calculationStrategy.getCalculationType()) {
+			return nearestNeighbourIndex;
+		}
+		try {
+			boolean exists = new File(graphFilePath).exists();
+			nearestNeighbourIndex = HnswIndex.loadOrBuild(graphFilePath, targets, calculationStrategy,
+					HnswIndex.DEFAULT_M, HnswIndex.DEFAULT_EF_CONSTRUCTION, HnswIndex.DEFAULT_EF_SEARCH);
+			MessageUtil.displayMessage("[INFO] " + (exists ? "Loaded" : "Built and wrote") + " HNSW graph " + graphFilePath,
+					ConsoleColour.BLUE_BOLD);
+			return nearestNeighbourIndex;
+		} catch (IOException | RuntimeException e) {
+			nearestNeighbourIndex = null;
+			MessageUtil.displayMessage("[ERROR] Could not use HNSW graph, scanning every target: " + e.getMessage(),
+					ConsoleColour.RED_BOLD);
+			return null;
+		}
+	}
+
+	/**
+	 * Loads the replacement table named by the {@code simplifier.replacement.table} system
+	 * property, if it is set. On failure the menu carries on with the embeddings.
+	 */
+	private void loadReplacementTable() {//Big-O Notation: O(n) - reads every word and code once
+		if (replacementTablePath == null) {
+			return;
+		}
+		try {
+			long start = System.nanoTime();
+			replacementTable = ReplacementTable.read(replacementTablePath);
+			loadMetrics.record(RunMetrics.Phase.EMBEDDINGS, System.nanoTime() - start, replacementTable.size());
+			MessageUtil.displayMessage("[INFO] Replacements are read from " + replacementTablePath
+					+ "; no embeddings or Google-1000 file is needed", ConsoleColour.BLUE_BOLD);
+		} catch (Exception e) {
+			MessageUtil.displayMessage("[ERROR] Could not load replacement table: " + e.getMessage(),
+					ConsoleColour.RED_BOLD);
+		}
+	}
+
+	/**
+	 * Loads the replacement cache snapshot named by the {@code simplifier.cache.snapshot}
+	 * system property, if it is set and the file exists. Only the first execution loads
+	 * it, and only if it was built from the current embeddings and Google-1000 files.
+	 */
+	private void loadCacheSnapshot() {//Big-O Notation: O(n) - fingerprints both files and reads every snapshot entry
+		if (cacheSnapshotPath == null || cacheSnapshotChecked) {
+			return;
+		}
+		cacheSnapshotChecked = true;
+		if (!new File(cacheSnapshotPath).exists()) {
+			return;
+		}
+		try {
+			fingerprintSnapshotFiles();
+			int loaded = replacementCache.load(cacheSnapshotPath, embeddingsFingerprint, googleFingerprint,
+					searchMode());
+			if (loaded < 0) {
+				MessageUtil.displayMessage("[INFO] Ignored cache snapshot " + cacheSnapshotPath
+						+ ": it was built from other embeddings or Google-1000 files, or with another search "
+						+ "than " + searchMode(), ConsoleColour.BLUE_BOLD);
+				return;
+			}
+			MessageUtil.displayMessage("[INFO] Loaded " + loaded + " cached replacements from " + cacheSnapshotPath,
+					ConsoleColour.BLUE_BOLD);
+		} catch (Exception e) {
+			MessageUtil.displayMessage("[ERROR] Could not load cache snapshot: " + e.getMessage(), ConsoleColour.RED_BOLD);
+		}
+	}
+
+	/**
+	 * Saves the replacement cache to the snapshot file named by the
+	 * {@code simplifier.cache.snapshot} system property, if it is set and a simplification
+	 * was executed, so an unused session does not replace a snapshot with an empty one.
+	 */
+	private void saveCacheSnapshot() {//Big-O Notation: O(n) - writes every cached entry
+		if (cacheSnapshotPath == null || !cacheSnapshotChecked) {
+			return;
+		}
+		try {
+			fingerprintSnapshotFiles();
+			replacementCache.save(cacheSnapshotPath, embeddingsFingerprint, googleFingerprint, searchMode());
+		} catch (Exception e) {
+			MessageUtil.displayMessage("[ERROR] Could not save cache snapshot: " + e.getMessage(), ConsoleColour.RED_BOLD);
+		}
+	}
+
+	// Reads the simplifier.embeddings.storage property; an unknown value is reported and falls back to HEAP
+	private static EmbeddingStorage embeddingStorageProperty() {//Big-O Notation: O(1) - few constants
+		String value = System.getProperty("simplifier.embeddings.storage", "heap");
+		try {
+			return EmbeddingStorage.valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+		} catch (IllegalArgumentException e) {
+			StringJoiner names = new StringJoiner(", ");
+			for (EmbeddingStorage storage : EmbeddingStorage.values()) {
+				names.add(storage.name().toLowerCase(Locale.ROOT));
+			}
+			MessageUtil.displayMessage("[ERROR] Invalid simplifier.embeddings.storage: " + value + " (valid: " + names
+					+ "); using heap", ConsoleColour.RED_BOLD);
+			return EmbeddingStorage.HEAP;
+		}
+	}
+
+	// The search settings of the session, recorded in the cache snapshot: int8 storage and an HNSW graph
+	// can choose other replacements than the exact float scan, so their answers are kept apart
+	private String searchMode() {//Big-O Notation: O(1)
+		String mode = embeddingStorage == EmbeddingStorage.QUANTIZED ? "int8-" + TextSimplifier.QUANTIZED_RERANK_COUNT
+				: "float";
+		if (graphFilePath != null) {
+			mode += "+hnsw-" + HnswIndex.DEFAULT_M + "-" + HnswIndex.DEFAULT_EF_CONSTRUCTION + "-"
+					+ HnswIndex.DEFAULT_EF_SEARCH;
+		}
+		return mode;
+	}
+
+	// Fingerprints the current embeddings and Google-1000 files once for each path
+	private void fingerprintSnapshotFiles() throws IOException {//Big-O Notation: O(n) - reads each file once
+		if (embeddingsFingerprint == null) {
+			embeddingsFingerprint = ReplacementCache.fingerprint(embeddingsFilePath);
+		}
+		if (googleFingerprint == null) {
+			googleFingerprint = ReplacementCache.fingerprint(googleFilePath);
+		}
+	}
+
 }
@@ -0,0 +1,83 @@
+package ie.atu.sw;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The {@code NdjsonOutputStrategy} class writes the results of a text simplification as
+ * newline-delimited JSON (NDJSON): one compact JSON object per line of the file.
+ * <p>
+ * Each input line becomes one {@code "line"} record holding its line number, the
+ * original text and the simplified text, so a consumer can process the output a line at
+ * a time, e.g. with {@code jq -c} or a streaming parser, without reading a whole
+ * document. A final {@code "summary"} record holds the similarity method, the word
+ * counters and, if given, the {@link RunMetrics}. Each line record is written as soon
+ * as the line is simplified.
+ * </p>
+ *
+ * <h2>Records:</h2>
+ * <pre>
+ * {"type":"line","line":1,"input":"...","simplified":"..."}
+ * {"type":"summary","similarityMethod":"...","lines":1,"wordsToSimplify":0,...}
+ * </pre>
+ *
+ * @see OutputStrategy
+ * @see JsonOutputStrategy
+ * @see JsonWriter
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class NdjsonOutputStrategy implements OutputStrategy {
+
+	/**
+	 * Starts the output of a run as NDJSON records.
+	 *
+	 * @param similarityMethod The similarity calculation method used (e.g., Cosine, Dot Product).
+	 * @param outputFilePath   The file path where the records should be saved.
+	 * @return A sink that writes a record for every line.
+	 * @throws IOException If the file cannot be opened.
+	 */
+	@Override
+	public OutputSink begin(SimilarityCalculationType similarityMethod, String outputFilePath) throws IOException {//Big-O Notation: O(1) - opens the file
+		JsonWriter json = JsonWriter.open(Path.of(outputFilePath), false);
+		return new OutputSink() {
+			private long lineNumber; // Number of the last line record
+
+			@Override
+			public void line(String original, String simplified) throws IOException {//Big-O Notation: O(n) - length of the line
+				json.beginObject()
+						.name("type").value("line")
+						.name("line").value(++lineNumber)
+						.name("input").value(original)
+						.name("simplified").value(simplified)
+						.endObject();
+			}
+
+			@Override
+			public void end(SimplificationStats stats, RunMetrics metrics) throws IOException {//Big-O Notation: O(1)
+				json.beginObject()
+						.name("type").value("summary")
+						.name("similarityMethod").value(similarityMethod.getDescription())
+						.name("lines").value(lineNumber)
+						.name("wordsToSimplify").value(stats.getWordsToSimplify())
+						.name("wordsInGoogle1000").value(stats.getWordsInGoogle1000())
+						.name("wordsNotInEmbeddings").value(stats.getWordsNotInEmbeddings());
+				if (metrics != null) {
+					json.name("metrics");
+					metrics.writeJson(json);
+				}
+				json.endObject();
+				json.flush();
+				System.out.println("[INFO] NDJSON output written to " + outputFilePath);
+			}
+
+			@Override
+			public void close() throws IOException {
+				json.close();
+			}
+		};
+	}
+
+}
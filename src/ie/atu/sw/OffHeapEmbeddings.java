@@ -0,0 +1,106 @@
+package ie.atu.sw;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * The {@code OffHeapEmbeddings} class keeps every word vector in one direct buffer
+ * outside the Java heap, indexed by word id. It is an {@link EmbeddingStore}.
+ * <p>
+ * A vocabulary of 400k words is otherwise 400k {@code float[]} objects that live in the
+ * old generation for the lifetime of the process; every full collection traces them and
+ * every heap dump contains them. Here the heap only holds the word table, and the
+ * vectors are a single native block the collector never scans.
+ * </p>
+ * <p>
+ * The block is a direct {@link ByteBuffer} in native byte order rather than a
+ * {@code MemorySegment}, because the Foreign Function &amp; Memory API is still a preview
+ * feature in Java 21. A direct buffer is limited to 2 GB, which holds about 10 million
+ * 50-dimension vectors.
+ * </p>
+ *
+ * @see EmbeddingStorage#OFF_HEAP
+ * @see BinaryEmbeddings
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class OffHeapEmbeddings implements EmbeddingStore {
+
+	private final WordIndex wordIndex; // word <-> row in the vector block
+	private final FloatBuffer vectors; // Direct vector block
+	private final int dimension; // Length of each vector
+
+	/**
+	 * Constructs an {@code OffHeapEmbeddings} from its parts.
+	 */
+	private OffHeapEmbeddings(WordIndex wordIndex, FloatBuffer vectors, int dimension) {
+		this.wordIndex = wordIndex;
+		this.vectors = vectors;
+		this.dimension = dimension;
+	}
+
+	/**
+	 * Copies every vector of another store into a new off-heap block, keeping its word ids.
+	 * The source can be released afterwards.
+	 *
+	 * @param source The store to copy, usually a {@link HeapEmbeddingStore} fresh from parsing.
+	 * @return The off-heap store.
+	 * @throws IllegalArgumentException If the vectors do not fit in one 2 GB buffer.
+	 */
+	public static OffHeapEmbeddings copyOf(EmbeddingStore source) {//Big-O Notation: O(n * d) - each vector is copied once
+		int dimension = source.getDimension();
+		long bytes = (long) source.size() * dimension * Float.BYTES;
+		if (bytes > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Embeddings too large for one off-heap buffer: " + bytes + " bytes");
+		}
+
+		FloatBuffer vectors = ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder()).asFloatBuffer();
+		String[] words = new String[source.size()];
+		float[] vector = new float[dimension];
+
+		for (int id = 0; id < words.length; id++) {
+			words[id] = source.word(id);
+			source.vector(id, vector);
+			vectors.put(id * dimension, vector);
+		}
+		return new OffHeapEmbeddings(new WordIndex(words), vectors, dimension);
+	}
+
+	@Override
+	public int id(CharSequence word) {//Big-O Notation: O(l) - one probe of the word index
+		return wordIndex.id(word);
+	}
+
+	@Override
+	public String word(int id) {//Big-O Notation: O(l) - copies the characters
+		return wordIndex.word(id);
+	}
+
+	@Override
+	public void vector(int id, float[] vector) {//Big-O Notation: O(d) - one bulk row copy
+		vectors.get(id * dimension, vector, 0, dimension);
+	}
+
+	@Override
+	public int size() {//Big-O Notation: O(1) - Retrieving stored Data
+		return wordIndex.size();
+	}
+
+	@Override
+	public int getDimension() {//Big-O Notation: O(1) - Retrieving stored Data
+		return dimension;
+	}
+
+	/**
+	 * Retrieves the native memory used by the vector block.
+	 *
+	 * @return The size in bytes.
+	 */
+	public long getVectorBytes() {//Big-O Notation: O(1)
+		return (long) vectors.capacity() * Float.BYTES;
+	}
+
+}
@@ -0,0 +1,52 @@
+package ie.atu.sw;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * The {@code OutputSink} interface receives the results of one simplification run as
+ * they are produced, so the whole text never has to be held in memory.
+ * <p>
+ * A sink is created by {@link OutputStrategy#begin(SimilarityCalculationType, String)},
+ * receives every (original, simplified) line pair in input order through
+ * {@link #line(String, String)}, and is finished by
+ * {@link #end(SimplificationStats, RunMetrics)} once the counters of the whole run are
+ * known. {@link #close()} releases its files whether or not the run finished.
+ * </p>
+ *
+ * <h2>Lifecycle:</h2>
+ * <pre>
+ * try (OutputSink sink = strategy.begin(method, path)) {
+ *     sink.line(original, simplified); // once per line
+ *     sink.end(stats, metrics);
+ * }
+ * </pre>
+ *
+ * @see OutputStrategy
+ * @see SimplificationPipeline#run(String, OutputSink)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public interface OutputSink extends Closeable {
+
+	/**
+	 * Receives the next line of the run.
+	 *
+	 * @param original   The input line.
+	 * @param simplified The simplified line.
+	 * @throws IOException If the line cannot be written.
+	 */
+	void line(String original, String simplified) throws IOException;
+
+	/**
+	 * Completes the output once every line has been received.
+	 *
+	 * @param stats   The line and word counters of the whole run.
+	 * @param metrics The timings of the run so far, or {@code null} to leave them out.
+	 * @throws IOException If the output cannot be completed.
+	 */
+	void end(SimplificationStats stats, RunMetrics metrics) throws IOException;
+
+}
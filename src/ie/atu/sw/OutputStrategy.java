@@ -1,29 +1,36 @@
 package ie.atu.sw;
 
+import java.io.IOException;
+
 /**
 * The {@code OutputStrategy} interface defines a contract for outputting
 * the results of the text simplification process.
 * <p>
 * Implementations of this interface provide specific structures for
-* presenting the simplified text and processing summary.
+* presenting the simplified text and processing summary. Results are streamed:
+* {@link #begin(SimilarityCalculationType, String)} opens an {@link OutputSink} for one
+* run, which then receives each line as it is simplified and the counters at the end.
 * </p>
 *
 * <h2>Expected Output:</h2>
 * <ul>
-* <li>Formatted text results (e.g., plain text, JSON).</li>
+* <li>Formatted text results (e.g., plain text, JSON, NDJSON).</li>
 * <li>Summary details of the simplification process (e.g., number of words simplified).</li>
+* <li>Timing and throughput of the run, see {@link RunMetrics}.</li>
 * </ul>
 *
 * <h2>Implementations:</h2>
 * <ul>
 * <li>{@link FileAndConsoleOutput}</li>
 * <li>{@link JsonOutputStrategy}</li>
+* <li>{@link NdjsonOutputStrategy}</li>
 * </ul>
 *
 *
+* @see OutputSink
 * @see JsonOutputStrategy
 * @see FileAndConsoleOutput
-* @see TextSimplifier#simplifyText(List)
+* @see SimplificationPipeline#run(String, OutputSink)
 *
 *
 * @author Declan O'Meara
@@ -32,22 +39,13 @@ package ie.atu.sw;
 */
 public interface OutputStrategy {
 	/**
-     * Outputs the result of the text simplification process.
+     * Starts the output of one simplification run.
      *
-     * @param inputText          The original input text.
-     * @param simplifiedText     The simplified version of the input text.
      * @param similarityMethod   The similarity calculation method used (e.g., Cosine, Dot Product).
-     * @param wordsToSimplify    The number of words that were identified for simplification.
-     * @param wordsInGoogle1000  The number of words already present in the Google-1000 dataset.
-     * @param wordsNotInEmbeddings The number of words not found in the embeddings file.
      * @param outputFilePath     The file path where the output should be saved.
+     * @return A sink for the lines and counters of the run; close it when done.
+     * @throws IOException If the output cannot be opened.
      */
-	void outputResult(String inputText,
-	        String simplifiedText,
-	        SimilarityCalculationType similarityMethod,
-	        int wordsToSimplify,
-	        int wordsInGoogle1000,
-	        int wordsNotInEmbeddings,
-	        String outputFilePath);
+	OutputSink begin(SimilarityCalculationType similarityMethod, String outputFilePath) throws IOException;
 
 }
@@ -0,0 +1,287 @@
+package ie.atu.sw;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code QuantizedEmbeddings} class stores word vectors as 8-bit integers with one
+ * scale per vector, packed into a single {@code byte[]}.
+ * <p>
+ * Each component is stored as {@code round(v / scale)} in {@code [-127, 127]}, where
+ * {@code scale} is the largest absolute component of the vector divided by 127. A 50
+ * component vector takes 50 bytes plus an 8 byte scale and norm, instead of a 200 byte
+ * {@code float[]} with its object header, so the vectors need about a quarter of the memory.
+ * </p>
+ * <p>
+ * The class is used in two ways:
+ * </p>
+ * <ul>
+ * <li>As the {@link EmbeddingStore} of a {@link FileParser}, decoding a vector on each
+ * lookup.</li>
+ * <li>As a compact copy of a {@link TargetIndex} ({@link #quantize(TargetIndex)}), where
+ * {@link #closestRows} scores a float query against the int8 codes directly. The few best
+ * rows are then re-ranked with the exact float vectors by {@link TextSimplifier}.</li>
+ * </ul>
+ * <p>
+ * {@link #main(String[])} checks a quantized run against a heap run of the same files.
+ * </p>
+ *
+ * @see EmbeddingStorage#QUANTIZED
+ * @see TextSimplifier#setQuantizedSearch(int)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class QuantizedEmbeddings implements EmbeddingStore {
+
+	private static final int MAX_CODE = 127; // Codes use [-127, 127], keeping the range symmetric
+
+	private final WordIndex wordIndex; // word <-> row
+	private final byte[] codes; // Row-major: codes[row * dimension + i]
+	private final float[] scales; // Per-row scale: v[i] ~ codes[i] * scale
+	private final float[] norms; // Per-row Euclidean norm of the original float vector
+	private final int dimension; // Length of each vector
+
+	/**
+	 * Constructs a store of zero vectors; rows are filled by {@link #set(int, float[], int)}.
+	 */
+	private QuantizedEmbeddings(String[] words, int dimension) {
+		int size = words.length;
+		this.wordIndex = new WordIndex(words);
+		this.codes = new byte[size * dimension];
+		this.scales = new float[size];
+		this.norms = new float[size];
+		this.dimension = dimension;
+	}
+
+	/**
+	 * Quantizes every vector of another store, keeping its word ids. The source can be
+	 * released afterwards.
+	 *
+	 * @param source The store to quantize, usually a {@link HeapEmbeddingStore} fresh from parsing.
+	 * @return The quantized store.
+	 */
+	public static QuantizedEmbeddings quantize(EmbeddingStore source) {//Big-O Notation: O(n * d) - each component is encoded once
+		String[] words = new String[source.size()];
+		for (int id = 0; id < words.length; id++) {
+			words[id] = source.word(id);
+		}
+		QuantizedEmbeddings quantized = new QuantizedEmbeddings(words, source.getDimension());
+		float[] vector = new float[source.getDimension()];
+		for (int id = 0; id < words.length; id++) {
+			source.vector(id, vector);
+			quantized.set(id, vector, 0);
+		}
+		return quantized;
+	}
+
+	/**
+	 * Quantizes the rows of a target index, keeping the row numbers of the index.
+	 *
+	 * @param targets The target vectors.
+	 * @return The quantized store; row {@code r} is row {@code r} of {@code targets}.
+	 */
+	public static QuantizedEmbeddings quantize(TargetIndex targets) {//Big-O Notation: O(n * d) - each component is encoded once
+		String[] words = new String[targets.size()];
+		for (int row = 0; row < words.length; row++) {
+			words[row] = targets.word(row);
+		}
+		QuantizedEmbeddings quantized = new QuantizedEmbeddings(words, targets.getDimension());
+		for (int row = 0; row < words.length; row++) {
+			quantized.set(row, targets.getVectors(), targets.offset(row));
+		}
+		return quantized;
+	}
+
+	// Encodes vector[offset, offset + dimension) into a row
+	private void set(int row, float[] vector, int offset) {//Big-O Notation: O(d)
+		scales[row] = encode(vector, offset, codes, row * dimension);
+		norms[row] = (float) TargetIndex.norm(vector, offset, dimension);
+	}
+
+	// Writes the int8 codes of vector[offset, offset + dimension) and returns their scale
+	private float encode(float[] vector, int offset, byte[] out, int outOffset) {//Big-O Notation: O(d)
+		float maxAbs = 0;
+		for (int i = 0; i < dimension; i++) {
+			maxAbs = Math.max(maxAbs, Math.abs(vector[offset + i]));
+		}
+		float scale = maxAbs / MAX_CODE;
+		for (int i = 0; i < dimension; i++) {
+			out[outOffset + i] = scale == 0 ? 0 : (byte) Math.round(vector[offset + i] / scale);
+		}
+		return scale;
+	}
+
+	@Override
+	public int id(CharSequence word) {//Big-O Notation: O(l) - one probe of the word index
+		return wordIndex.id(word);
+	}
+
+	@Override
+	public String word(int id) {//Big-O Notation: O(l) - copies the characters
+		return wordIndex.word(id);
+	}
+
+	@Override
+	public void vector(int id, float[] vector) {//Big-O Notation: O(d) - decodes one row
+		int base = id * dimension;
+		float scale = scales[id];
+		for (int i = 0; i < dimension; i++) {
+			vector[i] = codes[base + i] * scale;
+		}
+	}
+
+	/**
+	 * Finds the rows that score best against a query, scoring the int8 codes directly.
+	 * The query is quantized the same way, so dot products are integer sums that the JIT
+	 * can vectorise; Manhattan distance keeps the query in floats.
+	 *
+	 * @param query The query vector.
+	 * @param type  The similarity measure; higher scores are closer for every type.
+	 * @param count The number of rows to return.
+	 * @return Up to {@code count} row numbers, best first.
+	 */
+	public int[] closestRows(float[] query, SimilarityCalculationType type, int count) {//Big-O Notation: O(n * d + n log count) - one pass over the codes
+		double queryNorm = TargetIndex.norm(query, 0, query.length);
+		byte[] queryCodes = new byte[dimension];
+		float queryScale = encode(query, 0, queryCodes, 0);
+		TopKHeap heap = new TopKHeap(count);
+
+		for (int row = 0; row < scales.length; row++) {
+			double score = score(query, queryCodes, queryScale, queryNorm, type, row);
+			if (score > heap.threshold()) {
+				heap.offer(row, score);
+			}
+		}
+
+		int[] rows = new int[heap.size()];
+		heap.drainDescending(rows, new double[rows.length]);
+		return rows;
+	}
+
+	// Approximate score of a float query against one quantized row
+	private double score(float[] query, byte[] queryCodes, float queryScale, double queryNorm,
+			SimilarityCalculationType type, int row) {//Big-O Notation: O(d)
+		int base = row * dimension;
+		float scale = scales[row];
+
+		if (type == SimilarityCalculationType.MANHATTAN) {
+			double sum = 0;
+			for (int i = 0; i < dimension; i++) {
+				sum += Math.abs(query[i] - codes[base + i] * scale);
+			}
+			return -sum;
+		}
+
+		int dot = 0; // Integer products of the codes, scaled once at the end
+		for (int i = 0; i < dimension; i++) {
+			dot += queryCodes[i] * codes[base + i];
+		}
+		double dotProduct = (double) dot * queryScale * scale;
+
+		return switch (type) {
+		case COSINE -> queryNorm == 0 || norms[row] == 0 ? 0 : dotProduct / (queryNorm * norms[row]);
+		case DOT_PRODUCT -> dotProduct;
+		case EUCLIDEAN -> -Math.sqrt(Math.max(queryNorm * queryNorm + (double) norms[row] * norms[row]
+				- 2 * dotProduct, 0));
+		case MANHATTAN -> throw new IllegalStateException(); // Handled above
+		};
+	}
+
+	/**
+	 * Retrieves the number of stored vectors.
+	 *
+	 * @return The number of rows.
+	 */
+	@Override
+	public int size() {//Big-O Notation: O(1) - Retrieving stored Data
+		return wordIndex.size();
+	}
+
+	/**
+	 * Retrieves the length of each vector.
+	 *
+	 * @return The number of components per vector.
+	 */
+	@Override
+	public int getDimension() {//Big-O Notation: O(1) - Retrieving stored Data
+		return dimension;
+	}
+
+	/**
+	 * Retrieves the memory used by the codes, scales and norms, excluding the word table.
+	 *
+	 * @return The size in bytes.
+	 */
+	public long getVectorBytes() {//Big-O Notation: O(1)
+		return codes.length + 4L * scales.length + 4L * norms.length;
+	}
+
+	/**
+	 * Self-check: simplifies a text with {@link EmbeddingStorage#HEAP} and with
+	 * {@link EmbeddingStorage#QUANTIZED} storage under every similarity measure. It fails,
+	 * with status 1, if the quantized targets are not the exact float vectors, or if the
+	 * int8 pass and re-rank choose differently from an exact float scan. Lines that differ
+	 * from the heap run are listed; after those two checks their only cause is the int8
+	 * rounding of the simplified word's own vector, which breaks near ties.
+	 *
+	 * @param args The embeddings file, the Google-1000 file and the text file, e.g. the
+	 *             bundled {@code google-1000.txt} and {@code text.txt}.
+	 */
+	public static void main(String[] args) {//Big-O Notation: O(n * d + w * t * d) - two loads, then w words scanned against t targets per measure
+		if (args.length < 3) {
+			System.err.println("Usage: java ie.atu.sw.QuantizedEmbeddings <embeddings> <targets> <text>");
+			System.exit(1);
+		}
+		FileParser heap = new FileParser();
+		heap.loadEmbeddingsFile(args[0]);
+		heap.loadGoogleWordsFile(args[1]);
+		FileParser quantized = new FileParser();
+		quantized.setEmbeddingStorage(EmbeddingStorage.QUANTIZED);
+		quantized.loadEmbeddingsFile(args[0]);
+		quantized.loadGoogleWordsFile(args[1]);
+		List<String> lines = heap.loadTextToSimplify(args[2]);
+
+		TargetIndex exactTargets = heap.getGoogleWordIndex();
+		TargetIndex quantizedTargets = quantized.getGoogleWordIndex();
+		boolean passed = exactTargets.size() == quantizedTargets.size()
+				&& Arrays.equals(exactTargets.getVectors(), quantizedTargets.getVectors());
+		System.out.println("Quantized run keeps the float target vectors: " + (passed ? "OK" : "FAILED"));
+
+		for (SimilarityCalculationType type : SimilarityCalculationType.values()) {
+			TextSimplifier heapSimplifier = new TextSimplifier(heap.getEmbeddings(), exactTargets, type.createStrategy());
+			TextSimplifier quantizedSimplifier = new TextSimplifier(quantized.getEmbeddings(), quantizedTargets,
+					type.createStrategy());
+			quantizedSimplifier.setQuantizedSearch(TextSimplifier.QUANTIZED_RERANK_COUNT);
+			// Exact float scan of the same int8-decoded word vectors: isolates the search from the rounding
+			TextSimplifier decodedSimplifier = new TextSimplifier(quantized.getEmbeddings(), exactTargets,
+					type.createStrategy());
+
+			int searchMismatches = 0;
+			int roundingDifferences = 0;
+			for (String line : lines) {
+				String expected = heapSimplifier.simplifyLine(line);
+				String actual = quantizedSimplifier.simplifyLine(line);
+				if (!actual.equals(decodedSimplifier.simplifyLine(line))) {
+					searchMismatches++;
+				} else if (!actual.equals(expected)) {
+					roundingDifferences++;
+					System.out.println("  " + type + " heap:      " + expected);
+					System.out.println("  " + type + " quantized: " + actual);
+				}
+			}
+
+			passed &= searchMismatches == 0;
+			System.out.printf("%-12s %d of %d lines same as heap, %d differ by int8 rounding of the word, %d search mismatches %s%n",
+					type, lines.size() - roundingDifferences - searchMismatches, lines.size(), roundingDifferences,
+					searchMismatches, searchMismatches == 0 ? "OK" : "FAILED");
+		}
+
+		if (!passed) {
+			System.err.println("[ERROR] Quantized search does not match the exact float search");
+			System.exit(1);
+		}
+	}
+
+}
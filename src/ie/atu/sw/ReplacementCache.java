@@ -0,0 +1,325 @@
+package ie.atu.sw;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.zip.CRC32C;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code ReplacementCache} class memoises the result of the nearest-neighbour
+ * search in {@link TextSimplifier}, keyed by word and {@link SimilarityCalculationType}.
+ * <p>
+ * Natural-language text repeats the same words constantly, so most searches can be
+ * answered from the cache. The cache is bounded: entries are split across a fixed
+ * number of segments, each an access-ordered {@link LinkedHashMap} that evicts its
+ * least recently used entry when full. Segments are locked independently, so several
+ * threads can use the cache at once.
+ * </p>
+ *
+ * <h2>Snapshot Format:</h2>
+ * <p>
+ * {@link #save(String, String, String, String)} writes a header line followed by one
+ * entry per line, as tab-separated {@code TYPE word replacement}.
+ * {@link #load(String, String, String, String)} reads the same format back so a restarted
+ * process starts warm. A snapshot is only valid for the embeddings and Google-1000 files
+ * it was built from, and for the search that found its entries: an int8 or HNSW search
+ * can choose other replacements than the exact float scan. The header therefore records
+ * a {@link #fingerprint(String)} of both files, the search mode and the similarity types
+ * of the entries; a snapshot of other files or another search mode is discarded on load.
+ * </p>
+ * <pre>
+ * #replacement-cache	2	embeddings=3f2a91c0:66030215	targets=5b7e0d12:7488	search=float	types=COSINE,EUCLIDEAN
+ * COSINE	utilize	use
+ * </pre>
+ *
+ * @see TextSimplifier#setReplacementCache(ReplacementCache)
+ * @see SimilarityCalculationType
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class ReplacementCache {
+
+	private static final int SEGMENTS = 16; // Number of independently locked segments
+	private static final String SNAPSHOT_MAGIC = "#replacement-cache"; // First field of the header line
+	private static final int SNAPSHOT_VERSION = 2; // 2 added the search mode
+	private static final int FINGERPRINT_BUFFER_SIZE = 1 << 20; // Bytes read at a time when fingerprinting
+
+	private final List<Map<Key, String>> segments; // LRU maps, one lock per segment
+	private final LongAdder hits; // Lookups answered from the cache
+	private final LongAdder misses; // Lookups that needed a search
+
+	// Cache key: the same word may map to a different replacement for each similarity measure
+	private record Key(String word, SimilarityCalculationType type) {
+	}
+
+	/**
+	 * Constructs a {@code ReplacementCache} holding at most {@code capacity} entries.
+	 *
+	 * @param capacity The maximum number of cached replacements.
+	 */
+	public ReplacementCache(int capacity) {
+		int segmentCapacity = Math.max(1, capacity / SEGMENTS);
+		this.segments = new ArrayList<>(SEGMENTS);
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+
+		for (int i = 0; i < SEGMENTS; i++) {
+			segments.add(new LinkedHashMap<>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+					return size() > segmentCapacity; // Evict the least recently used entry
+				}
+			});
+		}
+	}
+
+	/**
+	 * Retrieves the cached replacement for a word, counting a hit or a miss.
+	 *
+	 * @param word The word to simplify.
+	 * @param type The similarity measure in use.
+	 * @return The cached replacement, or {@code null} if the word is not cached.
+	 */
+	public String get(String word, SimilarityCalculationType type) {//Big-O Notation: O(1) - hash lookup within one segment
+		Key key = new Key(word, type);
+		Map<Key, String> segment = segmentFor(key);
+		String replacement;
+		synchronized (segment) {
+			replacement = segment.get(key);
+		}
+
+		if (replacement != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return replacement;
+	}
+
+	/**
+	 * Stores the replacement for a word, evicting the least recently used entry of
+	 * the segment if it is full.
+	 *
+	 * @param word        The word that was simplified.
+	 * @param type        The similarity measure used.
+	 * @param replacement The closest Google-1000 word.
+	 */
+	public void put(String word, SimilarityCalculationType type, String replacement) {//Big-O Notation: O(1) - hash insert within one segment
+		Key key = new Key(word, type);
+		Map<Key, String> segment = segmentFor(key);
+		synchronized (segment) {
+			segment.put(key, replacement);
+		}
+	}
+
+	/**
+	 * Removes all entries and resets the hit and miss counters. Must be called when
+	 * the embeddings or the Google-1000 words change.
+	 */
+	public void clear() {//Big-O Notation: O(n) - clears every segment
+		for (Map<Key, String> segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+		hits.reset();
+		misses.reset();
+	}
+
+	/**
+	 * Computes a fingerprint of a file's contents: the CRC-32C checksum and the length of
+	 * the file, in hexadecimal and decimal. Two files with the same fingerprint are, for
+	 * the purposes of a snapshot, the same file.
+	 *
+	 * @param filePath The path of the file.
+	 * @return The fingerprint, e.g. {@code 3f2a91c0:66030215}.
+	 * @throws IOException If the file cannot be read.
+	 */
+	public static String fingerprint(String filePath) throws IOException {//Big-O Notation: O(n) - reads the file once
+		CRC32C checksum = new CRC32C();
+		long length = 0;
+		try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(FINGERPRINT_BUFFER_SIZE);
+			while (channel.read(buffer) >= 0) {
+				buffer.flip();
+				length += buffer.remaining();
+				checksum.update(buffer);
+				buffer.clear();
+			}
+		}
+		return String.format(Locale.ROOT, "%08x:%d", checksum.getValue(), length);
+	}
+
+	/**
+	 * Writes all cached entries to a snapshot file, after a header naming the files the
+	 * entries were computed from.
+	 *
+	 * @param filePath               The path of the snapshot file.
+	 * @param embeddingsFingerprint  The {@link #fingerprint(String)} of the embeddings file.
+	 * @param targetsFingerprint     The {@link #fingerprint(String)} of the Google-1000 file.
+	 * @param searchMode             The search that found the entries, e.g. {@code float} or
+	 *                               {@code int8-8+hnsw-16-200-64}; no tabs.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void save(String filePath, String embeddingsFingerprint, String targetsFingerprint, String searchMode)
+			throws IOException {//Big-O Notation: O(n) - writes every entry once
+		List<Map.Entry<Key, String>> entries = new ArrayList<>();
+		for (Map<Key, String> segment : segments) {
+			synchronized (segment) {
+				entries.addAll(segment.entrySet());
+			}
+		}
+		Set<SimilarityCalculationType> types = EnumSet.noneOf(SimilarityCalculationType.class);
+		for (Map.Entry<Key, String> entry : entries) {
+			types.add(entry.getKey().type());
+		}
+
+		try (BufferedWriter writer = Files.newBufferedWriter(Path.of(filePath))) {
+			writer.write(header(embeddingsFingerprint, targetsFingerprint, searchMode, types));
+			writer.newLine();
+			for (Map.Entry<Key, String> entry : entries) {
+				writer.write(entry.getKey().type().name() + "\t" + entry.getKey().word() + "\t" + entry.getValue());
+				writer.newLine();
+			}
+		}
+	}
+
+	/**
+	 * Loads entries from a snapshot file written by
+	 * {@link #save(String, String, String, String)}. The snapshot is discarded if it was
+	 * built from other embeddings or Google-1000 files, by another search mode, or has no
+	 * header. Malformed lines and entries of a similarity type not named in the header are
+	 * skipped.
+	 *
+	 * @param filePath               The path of the snapshot file.
+	 * @param embeddingsFingerprint  The {@link #fingerprint(String)} of the current embeddings file.
+	 * @param targetsFingerprint     The {@link #fingerprint(String)} of the current Google-1000 file.
+	 * @param searchMode             The current search mode, as given to {@code save}.
+	 * @return The number of entries loaded, or {@code -1} if the snapshot was discarded.
+	 * @throws IOException If the file cannot be read.
+	 */
+	public int load(String filePath, String embeddingsFingerprint, String targetsFingerprint, String searchMode)
+			throws IOException {//Big-O Notation: O(n) - reads every entry once
+		int loaded = 0;
+		try (var reader = Files.newBufferedReader(Path.of(filePath))) {
+			Set<SimilarityCalculationType> types = parseHeader(reader.readLine(), embeddingsFingerprint,
+					targetsFingerprint, searchMode);
+			if (types == null) {
+				return -1;
+			}
+
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] parts = line.split("\t");
+				if (parts.length != 3) {
+					continue;
+				}
+				try {
+					SimilarityCalculationType type = SimilarityCalculationType.valueOf(parts[0]);
+					if (types.contains(type)) {
+						put(parts[1], type, parts[2]);
+						loaded++;
+					}
+				} catch (IllegalArgumentException e) {
+					System.err.println("[ERROR] Unknown similarity type in cache snapshot: " + parts[0]);
+				}
+			}
+		}
+		return loaded;
+	}
+
+	// The header line of a snapshot
+	private static String header(String embeddingsFingerprint, String targetsFingerprint, String searchMode,
+			Set<SimilarityCalculationType> types) {//Big-O Notation: O(1) - at most four types
+		StringJoiner typeNames = new StringJoiner(",");
+		for (SimilarityCalculationType type : types) {
+			typeNames.add(type.name());
+		}
+		return SNAPSHOT_MAGIC + "\t" + SNAPSHOT_VERSION + "\tembeddings=" + embeddingsFingerprint + "\ttargets="
+				+ targetsFingerprint + "\tsearch=" + searchMode + "\ttypes=" + typeNames;
+	}
+
+	// The similarity types of a snapshot, or null if its header is missing, names other files or another search
+	private static Set<SimilarityCalculationType> parseHeader(String line, String embeddingsFingerprint,
+			String targetsFingerprint, String searchMode) {//Big-O Notation: O(1) - fixed number of fields
+		String[] fields = line == null ? new String[0] : line.split("\t");
+		if (fields.length != 6 || !fields[0].equals(SNAPSHOT_MAGIC)
+				|| !fields[1].equals(Integer.toString(SNAPSHOT_VERSION))
+				|| !fields[2].equals("embeddings=" + embeddingsFingerprint)
+				|| !fields[3].equals("targets=" + targetsFingerprint)
+				|| !fields[4].equals("search=" + searchMode) || !fields[5].startsWith("types=")) {
+			return null;
+		}
+
+		Set<SimilarityCalculationType> types = EnumSet.noneOf(SimilarityCalculationType.class);
+		for (String name : fields[5].substring("types=".length()).split(",")) {
+			if (name.isEmpty()) {
+				continue;
+			}
+			try {
+				types.add(SimilarityCalculationType.valueOf(name));
+			} catch (IllegalArgumentException e) {
+				return null; // Written by a version with other similarity measures
+			}
+		}
+		return types;
+	}
+
+	/**
+	 * Retrieves the number of lookups answered from the cache.
+	 *
+	 * @return The hit count since the last {@link #clear()}.
+	 */
+	public long getHits() {//Big-O Notation: O(1) - sums a few cells
+		return hits.sum();
+	}
+
+	/**
+	 * Retrieves the number of lookups that were not in the cache.
+	 *
+	 * @return The miss count since the last {@link #clear()}.
+	 */
+	public long getMisses() {//Big-O Notation: O(1) - sums a few cells
+		return misses.sum();
+	}
+
+	/**
+	 * Retrieves the number of cached entries.
+	 *
+	 * @return The total size of all segments.
+	 */
+	public int size() {//Big-O Notation: O(1) - fixed number of segments
+		int size = 0;
+		for (Map<Key, String> segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	// Spread keys over segments using the high bits of the hash as well
+	private Map<Key, String> segmentFor(Key key) {//Big-O Notation: O(1)
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+		return segments.get((hash & 0x7fffffff) % SEGMENTS);
+	}
+
+}
@@ -0,0 +1,329 @@
+package ie.atu.sw;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code ReplacementTable} class holds the precomputed replacement of every word in
+ * the embeddings vocabulary, for every {@link SimilarityCalculationType}.
+ * <p>
+ * The embeddings and the Google-1000 list are fixed for a deployment, so the closest
+ * Google-1000 word of each vocabulary word never changes. The table is built once,
+ * in parallel, and written to a compact binary file. A {@link TextSimplifier} built from
+ * the table then runs in lookup-only mode: one probe of a {@link WordIndex} per token,
+ * which gives the row of the word and with it all of its codes, and no vectors in memory.
+ * </p>
+ *
+ * <h2>File Format (big-endian, {@link DataOutputStream}):</h2>
+ * <pre>
+ * int    MAGIC ("RTBL")
+ * int    VERSION
+ * int    typeCount, then typeCount UTF similarity type names
+ * int    targetCount, then targetCount UTF target words
+ * int    wordCount, then per word: UTF word, typeCount ints (target number, -1 if the
+ *        word is itself a target word, or -2 if no target scored and the word is kept)
+ * </pre>
+ *
+ * <h2>Build Step:</h2>
+ * <pre>
+ * java ie.atu.sw.ReplacementTable &lt;embeddings file&gt; &lt;google-1000 file&gt; &lt;output file&gt;
+ * </pre>
+ *
+ * @see TextSimplifier#TextSimplifier(ReplacementTable, SimilarityCalculationType)
+ * @see FileParser#getEmbeddings()
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class ReplacementTable {
+
+	private static final int MAGIC = 0x5254424C; // "RTBL"
+	private static final int VERSION = 2; // 2 added KEEP_WORD; version 1 files are still read
+	private static final int TARGET_WORD = -1; // Code for words already in the target list
+	private static final int KEEP_WORD = -2; // Code for words no target scored for, e.g. a zero vector under cosine
+
+	private final SimilarityCalculationType[] types; // Column order of the codes
+	private final String[] targetWords; // Replacement words, indexed by code
+	private final WordIndex wordIndex; // Vocabulary word -> row in codes
+	private final int[] codes; // Row-major: codes[id * types.length + column]
+
+	/**
+	 * Constructs a {@code ReplacementTable} from its parts.
+	 *
+	 * @param types       The similarity types, in column order.
+	 * @param targetWords The target words that codes refer to.
+	 * @param wordIndex   The row of each vocabulary word.
+	 * @param codes       The replacement codes, one row per word.
+	 */
+	private ReplacementTable(SimilarityCalculationType[] types, String[] targetWords, WordIndex wordIndex,
+			int[] codes) {
+		this.types = types;
+		this.targetWords = targetWords;
+		this.wordIndex = wordIndex;
+		this.codes = codes;
+	}
+
+	/**
+	 * Builds the table by searching the closest target word of every vocabulary word
+	 * under every similarity type. Words are processed in parallel.
+	 *
+	 * @param embeddings The full embeddings vocabulary.
+	 * @param targets    The target words packed into a {@link TargetIndex}.
+	 * @return The completed replacement table.
+	 */
+	public static ReplacementTable build(EmbeddingStore embeddings, TargetIndex targets) {//Big-O Notation: O(w * t * d) - every word against every target for each type
+		SimilarityCalculationType[] types = SimilarityCalculationType.values();
+		String[] words = new String[embeddings.size()];
+		for (int id = 0; id < words.length; id++) {
+			words[id] = embeddings.word(id);
+		}
+		int[] codes = new int[words.length * types.length];
+
+		// One simplifier per similarity type, shared by all worker threads
+		TextSimplifier[] simplifiers = new TextSimplifier[types.length];
+		for (int t = 0; t < types.length; t++) {
+			simplifiers[t] = new TextSimplifier(embeddings, targets, types[t].createStrategy());
+		}
+
+		Map<String, Integer> targetCodes = new HashMap<>();
+		String[] targetWords = new String[targets.size()];
+		for (int row = 0; row < targets.size(); row++) {
+			targetWords[row] = targets.word(row);
+			targetCodes.put(targets.word(row), row);
+		}
+
+		IntStream.range(0, words.length).parallel().forEach(id -> {
+			boolean targetWord = targets.contains(words[id]);
+			for (int t = 0; t < types.length; t++) {
+				Integer code = targetWord ? null : targetCodes.get(simplifiers[t].findClosestWord(words[id]));
+				codes[id * types.length + t] = targetWord ? TARGET_WORD : code != null ? code : KEEP_WORD;
+			}
+		});
+
+		return new ReplacementTable(types, targetWords, new WordIndex(words), codes);
+	}
+
+	/**
+	 * Writes the table to a binary file.
+	 *
+	 * @param filePath The path of the output file.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void write(String filePath) throws IOException {//Big-O Notation: O(n) - writes every word and code once
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(Path.of(filePath)), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+
+			out.writeInt(types.length);
+			for (SimilarityCalculationType type : types) {
+				out.writeUTF(type.name());
+			}
+
+			out.writeInt(targetWords.length);
+			for (String target : targetWords) {
+				out.writeUTF(target);
+			}
+
+			out.writeInt(wordIndex.size());
+			for (int id = 0; id < wordIndex.size(); id++) {
+				out.writeUTF(wordIndex.word(id));
+				for (int t = 0; t < types.length; t++) {
+					out.writeInt(codes[id * types.length + t]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads a table written by {@link #write(String)}.
+	 *
+	 * @param filePath The path of the table file.
+	 * @return The loaded replacement table.
+	 * @throws IOException If the file cannot be read or is not a replacement table.
+	 */
+	public static ReplacementTable read(String filePath) throws IOException {//Big-O Notation: O(n) - reads every word and code once
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(Path.of(filePath)), 1 << 16))) {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Not a replacement table file: " + filePath);
+			}
+			int version = in.readInt();
+			if (version < 1 || version > VERSION) {
+				throw new IOException("Replacement table file version " + version + " is not supported: " + filePath);
+			}
+
+			SimilarityCalculationType[] types = new SimilarityCalculationType[in.readInt()];
+			for (int t = 0; t < types.length; t++) {
+				types[t] = SimilarityCalculationType.valueOf(in.readUTF());
+			}
+
+			String[] targetWords = new String[in.readInt()];
+			for (int i = 0; i < targetWords.length; i++) {
+				targetWords[i] = in.readUTF();
+			}
+
+			int wordCount = in.readInt();
+			String[] words = new String[wordCount];
+			int[] codes = new int[wordCount * types.length];
+			for (int id = 0; id < wordCount; id++) {
+				words[id] = in.readUTF();
+				for (int t = 0; t < types.length; t++) {
+					codes[id * types.length + t] = in.readInt();
+				}
+			}
+
+			System.out.println("Loaded replacement table for " + wordCount + " words.");
+			return new ReplacementTable(types, targetWords, new WordIndex(words), codes);
+		}
+	}
+
+	/**
+	 * Looks up the row of a word. The row gives {@link #isTargetWord(int)} and
+	 * {@link #replacement(int, int)} without another lookup.
+	 *
+	 * @param word The word, a {@code String} or a {@link TokenSlice}.
+	 * @return The row of the word, or {@code -1} if it is not in the embeddings vocabulary
+	 *         the table was built from.
+	 */
+	public int id(CharSequence word) {//Big-O Notation: O(1) - one probe of the word index
+		return wordIndex.id(word);
+	}
+
+	/**
+	 * Checks whether a word is in the embeddings vocabulary the table was built from.
+	 *
+	 * @param word The word to check, a {@code String} or a {@link TokenSlice}.
+	 * @return {@code true} if the table has a row for the word.
+	 */
+	public boolean contains(CharSequence word) {//Big-O Notation: O(1) - one probe of the word index
+		return wordIndex.contains(word);
+	}
+
+	/**
+	 * Checks whether the word of a row is one of the target (Google-1000) words.
+	 *
+	 * @param id The row of the word, from {@link #id(CharSequence)}.
+	 * @return {@code true} if the word needs no replacement.
+	 */
+	public boolean isTargetWord(int id) {//Big-O Notation: O(1) - array access
+		return codes[id * types.length] == TARGET_WORD;
+	}
+
+	/**
+	 * Retrieves the replacement of the word of a row.
+	 *
+	 * @param id     The row of the word, from {@link #id(CharSequence)}.
+	 * @param column The column of the similarity measure, from {@link #column(SimilarityCalculationType)}.
+	 * @return The replacement, or {@code null} if the word is kept: it is a target word, or
+	 *         no target scored for it.
+	 */
+	public String replacement(int id, int column) {//Big-O Notation: O(1) - array access
+		int code = codes[id * types.length + column];
+		return code < 0 ? null : targetWords[code];
+	}
+
+	/**
+	 * Looks up the precomputed replacement of a word.
+	 *
+	 * @param word The word to simplify.
+	 * @param type The similarity measure to use.
+	 * @return The replacement, the word itself if it is kept, or {@code null} if the word is
+	 *         not in the table.
+	 * @throws IllegalArgumentException If the table has no column for {@code type}.
+	 */
+	public String lookup(String word, SimilarityCalculationType type) {//Big-O Notation: O(1) - one probe and an array access
+		int column = column(type);
+		if (column < 0) {
+			throw new IllegalArgumentException("Replacement table has no column for " + type);
+		}
+		int id = wordIndex.id(word);
+		if (id < 0) {
+			return null;
+		}
+		String replacement = replacement(id, column);
+		return replacement != null ? replacement : word;
+	}
+
+	/**
+	 * Finds the column that holds the replacements of a similarity measure.
+	 *
+	 * @param type The similarity measure.
+	 * @return The column, or {@code -1} if the table was built without {@code type}.
+	 */
+	public int column(SimilarityCalculationType type) {//Big-O Notation: O(1) - at most four columns
+		for (int t = 0; t < types.length; t++) {
+			if (types[t] == type) {
+				return t;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Checks whether the table holds the replacements of a similarity measure.
+	 *
+	 * @param type The similarity measure.
+	 * @return {@code true} if the table was built with a column for {@code type}.
+	 */
+	public boolean supports(SimilarityCalculationType type) {//Big-O Notation: O(1) - at most four columns
+		return column(type) >= 0;
+	}
+
+	/**
+	 * Retrieves the number of target words the table was built with.
+	 *
+	 * @return The number of target words.
+	 */
+	public int getTargetCount() {//Big-O Notation: O(1) - Retrieving stored Data
+		return targetWords.length;
+	}
+
+	/**
+	 * Retrieves the number of vocabulary words in the table.
+	 *
+	 * @return The number of rows.
+	 */
+	public int size() {//Big-O Notation: O(1) - Retrieving stored Data
+		return wordIndex.size();
+	}
+
+	/**
+	 * Build step: loads the embeddings and Google-1000 files, builds the table and writes it.
+	 *
+	 * @param args The embeddings file, the Google-1000 file and the output file.
+	 */
+	public static void main(String[] args) {//Big-O Notation: O(w * t * d) - dominated by build()
+		if (args.length != 3) {
+			System.err.println("Usage: java ie.atu.sw.ReplacementTable <embeddings file> <google-1000 file> <output file>");
+			System.exit(1);
+		}
+
+		FileParser fileParser = new FileParser();
+		fileParser.loadEmbeddingsFile(args[0]);
+		fileParser.loadGoogleWordsFile(args[1]);
+
+		long start = System.nanoTime();
+		ReplacementTable table = build(fileParser.getEmbeddings(), fileParser.getGoogleWordIndex());
+		System.out.printf("Built replacement table for %d words in %.1f s%n", table.size(),
+				(System.nanoTime() - start) / 1e9);
+
+		try {
+			table.write(args[2]);
+			System.out.println("[INFO] Replacement table written to " + args[2]);
+		} catch (IOException e) {
+			System.err.println("[ERROR] Failed to write replacement table: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+}
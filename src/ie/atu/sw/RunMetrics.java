@@ -0,0 +1,257 @@
+package ie.atu.sw;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The {@code RunMetrics} class records the wall time and throughput of each phase of a
+ * simplification run, and the search statistics of the simplification itself.
+ * <p>
+ * Each {@link Phase} holds its duration and the number of items it handled (words,
+ * lines or tokens), from which a rate per second is derived. The simplification phase
+ * also keeps the number of searches, the {@link ReplacementCache} hit rate and a
+ * {@link LatencyHistogram} of {@code findClosestWord}.
+ * </p>
+ *
+ * <h2>Output:</h2>
+ * <ul>
+ * <li>{@link #summaryLines()} for the text output of {@link FileAndConsoleOutput}.</li>
+ * <li>{@link #writeJson(JsonWriter)} for {@link JsonOutputStrategy} and {@link NdjsonOutputStrategy}.</li>
+ * <li>{@link #writeJson(String)} for a machine-readable metrics file.</li>
+ * </ul>
+ * <p>
+ * Phases that have not been recorded, such as the output phase while the output is
+ * being written, are left out.
+ * </p>
+ *
+ * @see Menu
+ * @see LatencyHistogram
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class RunMetrics {
+
+	/**
+	 * The timed phases of a run, in the order they happen.
+	 */
+	public enum Phase {
+		EMBEDDINGS("Embeddings load", "words"),
+		GOOGLE_WORDS("Google-1000 load", "words"),
+		TEXT("Text load", "lines"),
+		SIMPLIFICATION("Simplification", "tokens"),
+		OUTPUT("Output", "lines");
+
+		private final String description; // Label for the text summary
+		private final String unit; // What the item count counts
+
+		Phase(String description, String unit) {
+			this.description = description;
+			this.unit = unit;
+		}
+
+		/**
+		 * Retrieves the label of the phase.
+		 *
+		 * @return The description.
+		 */
+		public String getDescription() {//Big-O Notation: O(1)
+			return description;
+		}
+
+		/**
+		 * Retrieves the unit of the item count.
+		 *
+		 * @return The unit, e.g. {@code "words"}.
+		 */
+		public String getUnit() {//Big-O Notation: O(1)
+			return unit;
+		}
+	}
+
+	// Duration and item count of one phase
+	private record Timing(long nanos, long items) {
+
+		double seconds() {
+			return nanos / 1e9;
+		}
+
+		double itemsPerSecond() {
+			return nanos == 0 ? 0 : items / seconds();
+		}
+	}
+
+	private final Map<Phase, Timing> timings = new EnumMap<>(Phase.class); // Recorded phases only
+	private final LatencyHistogram searchLatency = new LatencyHistogram(); // findClosestWord durations
+	private long cacheHits; // Replacement cache hits during this run
+	private long cacheMisses; // Replacement cache misses during this run
+
+	/**
+	 * Records the duration of a phase, replacing any earlier value.
+	 *
+	 * @param phase The phase.
+	 * @param nanos The wall time in nanoseconds.
+	 * @param items The number of words, lines or tokens handled.
+	 */
+	public void record(Phase phase, long nanos, long items) {//Big-O Notation: O(1)
+		timings.put(phase, new Timing(nanos, items));
+	}
+
+	/**
+	 * Adds to the duration and item count of a phase, for runs over several inputs.
+	 *
+	 * @param phase The phase.
+	 * @param nanos The wall time in nanoseconds.
+	 * @param items The number of words, lines or tokens handled.
+	 */
+	public void add(Phase phase, long nanos, long items) {//Big-O Notation: O(1)
+		timings.merge(phase, new Timing(nanos, items),
+				(total, timing) -> new Timing(total.nanos() + timing.nanos(), total.items() + timing.items()));
+	}
+
+	/**
+	 * Records the cache lookups of the simplification phase.
+	 *
+	 * @param hits   Lookups answered from the cache.
+	 * @param misses Lookups that needed a search.
+	 */
+	public void recordCacheLookups(long hits, long misses) {//Big-O Notation: O(1)
+		this.cacheHits = hits;
+		this.cacheMisses = misses;
+	}
+
+	/**
+	 * Creates the metrics of a new run, keeping the load phases recorded so far. Files
+	 * are loaded once from the menu and reused by every run.
+	 *
+	 * @return New metrics with this instance's embeddings, Google-1000 and text phases.
+	 */
+	public RunMetrics startRun() {//Big-O Notation: O(1) - fixed number of phases
+		RunMetrics run = new RunMetrics();
+		for (Phase phase : List.of(Phase.EMBEDDINGS, Phase.GOOGLE_WORDS, Phase.TEXT)) {
+			Timing timing = timings.get(phase);
+			if (timing != null) {
+				run.timings.put(phase, timing);
+			}
+		}
+		return run;
+	}
+
+	/**
+	 * Retrieves the histogram the simplifier records its searches into.
+	 *
+	 * @return The search latency histogram.
+	 */
+	public LatencyHistogram getSearchLatency() {//Big-O Notation: O(1)
+		return searchLatency;
+	}
+
+	/**
+	 * Retrieves the number of searches per second of simplification.
+	 *
+	 * @return The search rate, or {@code 0} if the simplification was not recorded.
+	 */
+	public double getSearchesPerSecond() {//Big-O Notation: O(1)
+		Timing timing = timings.get(Phase.SIMPLIFICATION);
+		return timing == null || timing.nanos() == 0 ? 0 : searchLatency.getCount() / timing.seconds();
+	}
+
+	/**
+	 * Retrieves the fraction of cache lookups that were hits.
+	 *
+	 * @return The hit rate from {@code 0} to {@code 1}, or {@code 0} if the cache was not used.
+	 */
+	public double getCacheHitRate() {//Big-O Notation: O(1)
+		long lookups = cacheHits + cacheMisses;
+		return lookups == 0 ? 0 : (double) cacheHits / lookups;
+	}
+
+	/**
+	 * Formats the metrics as lines of text.
+	 *
+	 * @return One line per recorded phase, then the search statistics.
+	 */
+	public List<String> summaryLines() {//Big-O Notation: O(1) - fixed number of phases
+		List<String> lines = new ArrayList<>();
+		for (Map.Entry<Phase, Timing> entry : timings.entrySet()) {
+			Phase phase = entry.getKey();
+			Timing timing = entry.getValue();
+			lines.add(format("%s: %.3f s, %d %s (%.0f %s/s)", phase.getDescription(), timing.seconds(),
+					timing.items(), phase.getUnit(), timing.itemsPerSecond(), phase.getUnit()));
+		}
+		if (timings.containsKey(Phase.SIMPLIFICATION)) {
+			lines.add(format("Searches: %d (%.0f/s), cache hit rate: %.1f%%", searchLatency.getCount(),
+					getSearchesPerSecond(), getCacheHitRate() * 100));
+			if (searchLatency.getCount() > 0) {
+				lines.add(format("Search latency: mean %.1f us, p50 %.1f us, p99 %.1f us, max %.1f us",
+						searchLatency.getMeanNanos() / 1e3, searchLatency.getPercentileNanos(50) / 1e3,
+						searchLatency.getPercentileNanos(99) / 1e3, searchLatency.getMaxNanos() / 1e3));
+			}
+		}
+		return lines;
+	}
+
+	/**
+	 * Writes the metrics as a JSON object.
+	 *
+	 * @param json The writer to write the object to, as a value in its current position.
+	 * @throws IOException If the object cannot be written.
+	 */
+	public void writeJson(JsonWriter json) throws IOException {//Big-O Notation: O(1) - fixed number of phases and buckets
+		json.beginObject();
+		json.name("phases").beginObject();
+		for (Map.Entry<Phase, Timing> entry : timings.entrySet()) {
+			Timing timing = entry.getValue();
+			json.name(entry.getKey().name().toLowerCase(Locale.ROOT)).beginObject()
+					.name("seconds").value(timing.seconds())
+					.name("items").value(timing.items())
+					.name("unit").value(entry.getKey().getUnit())
+					.name("itemsPerSecond").value(timing.itemsPerSecond())
+					.endObject();
+		}
+		json.endObject();
+
+		json.name("searches").value(searchLatency.getCount());
+		json.name("searchesPerSecond").value(getSearchesPerSecond());
+		json.name("cacheHits").value(cacheHits);
+		json.name("cacheMisses").value(cacheMisses);
+		json.name("cacheHitRate").value(getCacheHitRate());
+		json.name("searchLatencyNanos").beginObject()
+				.name("mean").value(searchLatency.getMeanNanos())
+				.name("p50").value(searchLatency.getPercentileNanos(50))
+				.name("p90").value(searchLatency.getPercentileNanos(90))
+				.name("p99").value(searchLatency.getPercentileNanos(99))
+				.name("max").value(searchLatency.getMaxNanos());
+		json.name("buckets").beginArray();
+		for (long[] bucket : searchLatency.getBuckets()) {
+			json.beginObject().name("le").value(bucket[0]).name("count").value(bucket[1]).endObject();
+		}
+		json.endArray();
+		json.endObject();
+		json.endObject();
+	}
+
+	/**
+	 * Writes the metrics as a JSON file.
+	 *
+	 * @param filePath The file to write.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void writeJson(String filePath) throws IOException {//Big-O Notation: O(1) - fixed size document
+		try (JsonWriter json = JsonWriter.open(Path.of(filePath), true)) {
+			writeJson(json);
+		}
+	}
+
+	// Formats numbers with a dot decimal separator whatever the default locale
+	private static String format(String pattern, Object... args) {//Big-O Notation: O(1)
+		return String.format(Locale.ROOT, pattern, args);
+	}
+
+}
@@ -3,7 +3,9 @@ package ie.atu.sw;
 /**
  * The {@code Runner} class serves as the entry point for the text simplifier application.
  * <p>
- * This class initializes the application by invoking the {@link Menu#start()} method.
+ * This class initializes the application by invoking the {@link Menu#start()} method,
+ * or, when command-line arguments are given, runs it headless through
+ * {@link CommandLineRunner}.
  * </p>
  *
  *
@@ -11,9 +13,11 @@ package ie.atu.sw;
  * <ul>
  * <li>Initialize the application menu.</li>
  * <li>Invoke the start process for user interaction.</li>
+ * <li>Dispatch command-line arguments to the headless runner.</li>
  * </ul>
  * 
  * @see Menu
+ * @see CommandLineRunner
  *
  * @author Declan O'Meara
  * @version 1.0
@@ -26,12 +30,18 @@ public class Runner {
      * The main method serves as the application entry point.
      * <p>
      * This method initializes the {@link Menu} object and starts the user interface loop.
+     * If any arguments are given, the menu is skipped and {@link CommandLineRunner} runs
+     * with them instead, exiting with its status.
      * </p>
      *
-     * @param args Command-line arguments passed during the execution (currently unused).
+     * @param args Command-line arguments passed during the execution, see {@link CommandLineRunner}.
      */
 	public static void main(String[] args) { //Big-O Notation: O(1) initializes a Menu object and calls its start() method, which is a single operation.
 
+		if (args.length > 0) {
+			System.exit(CommandLineRunner.run(args));
+		}
+
 		Menu m = new Menu();
 		m.start();
 
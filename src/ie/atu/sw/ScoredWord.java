@@ -0,0 +1,17 @@
+package ie.atu.sw;
+
+/**
+ * The {@code ScoredWord} record pairs a candidate replacement with its similarity score.
+ * Higher scores are closer matches for every {@link SimilarityCalculationType}.
+ *
+ * @param word  The candidate replacement word.
+ * @param score The similarity score of the candidate.
+ *
+ * @see TextSimplifier#findClosestWords(String, int)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public record ScoredWord(String word, double score) {
+}
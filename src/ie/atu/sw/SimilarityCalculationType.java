@@ -14,6 +14,12 @@ package ie.atu.sw;
  * <li>{@link #MANHATTAN}: Manhattan distance similarity.</li>
  * </ul>
  *
+ * <p>
+ * {@link #createStrategy()} returns the fastest available {@link SimilarityStrategy}
+ * for a type: the SIMD {@link VectorSimilarity} when the {@code jdk.incubator.vector}
+ * module is present, otherwise the scalar implementation.
+ * </p>
+ *
  *
  * @author Declan O'Meara
  * @version 1.0
@@ -44,4 +50,38 @@ public enum SimilarityCalculationType {
         return description;
     }
 
+    /**
+     * Creates the fastest available strategy for this similarity calculation type.
+     * <p>
+     * The Vector API implementation is used when the JVM was started with
+     * {@code --add-modules jdk.incubator.vector}; otherwise the scalar implementation is used.
+     * </p>
+     *
+     * @return A {@link SimilarityStrategy} computing this type of similarity.
+     */
+    public SimilarityStrategy createStrategy() {//Big-O Notation: O(1) - creates a single object
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return new VectorSimilarity(this);
+            } catch (LinkageError e) {
+                // Vector API present but unusable on this platform, fall back to scalar
+            }
+        }
+        return createScalarStrategy();
+    }
+
+    /**
+     * Creates the portable scalar strategy for this similarity calculation type.
+     *
+     * @return A scalar {@link SimilarityStrategy} computing this type of similarity.
+     */
+    public SimilarityStrategy createScalarStrategy() {//Big-O Notation: O(1) - creates a single object
+        return switch (this) {
+        case COSINE -> new CosineSimilarity();
+        case DOT_PRODUCT -> new DotProductSimilarity();
+        case EUCLIDEAN -> new EuclideanDistanceSimilarity();
+        case MANHATTAN -> new ManhattanDistanceSimilarity();
+        };
+    }
+
 }
@@ -45,4 +45,38 @@ public interface SimilarityStrategy {
      */
 	double calculate(float[] vector1, float[] vector2);
 
+	/**
+     * Calculates the similarity score between a vector and one row of a row-major matrix.
+     * <p>
+     * The row starts at {@code offset} and has the same length as {@code vector}. This lets
+     * callers scan a {@link TargetIndex} without creating a separate array per row.
+     * </p>
+     *
+     * @param vector The query vector.
+     * @param matrix The row-major matrix holding the other vector.
+     * @param offset The position of the first component of the row in {@code matrix}.
+     * @return A double representing the similarity score.
+     */
+	double calculate(float[] vector, float[] matrix, int offset);
+
+	/**
+     * Calculates the similarity score between a vector and a matrix row whose L2 norms
+     * are already known.
+     * <p>
+     * Strategies that depend on the norms (cosine, Euclidean) override this to need only a
+     * dot product per comparison. The default ignores the norms.
+     * </p>
+     *
+     * @param vector     The query vector.
+     * @param vectorNorm The L2 norm of {@code vector}.
+     * @param matrix     The row-major matrix holding the other vector.
+     * @param offset     The position of the first component of the row in {@code matrix}.
+     * @param rowNorm    The L2 norm of the row.
+     * @return A double representing the similarity score.
+     * @see TargetIndex#norm(int)
+     */
+	default double calculate(float[] vector, double vectorNorm, float[] matrix, int offset, double rowNorm) {
+		return calculate(vector, matrix, offset);
+	}
+
 }
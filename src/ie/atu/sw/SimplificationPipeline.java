@@ -0,0 +1,226 @@
+package ie.atu.sw;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * The {@code SimplificationPipeline} class simplifies a text file as a stream, with
+ * memory use bounded by its queue size rather than by the size of the file.
+ * <p>
+ * A reader thread reads the input in batches of lines and submits each batch to a pool
+ * of workers. The futures of the batches go through a bounded queue, so the reader
+ * blocks once {@code queueCapacity} batches are waiting. The calling thread takes the
+ * futures in submission order and passes each (original, simplified) line pair to the
+ * consumer as soon as its batch is ready. Output therefore starts before the input has
+ * been fully read, and lines come out in input order.
+ * </p>
+ * <p>
+ * A batch is also submitted early whenever no more input is ready, so a line written
+ * into a pipe, for example from standard input, is simplified without waiting for the
+ * rest of its batch.
+ * </p>
+ *
+ * <h2>Stages:</h2>
+ * <pre>
+ * reader thread --batches--> worker pool --futures (bounded queue)--> calling thread --> consumer
+ * </pre>
+ *
+ * @see TextSimplifier#simplifyLine(String, SimplificationStats)
+ * @see SimplificationStats
+ * @see OutputSink
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class SimplificationPipeline {
+
+	private static final Batch END = new Batch(List.of(), List.of(), new SimplificationStats()); // End of input marker
+
+	private final TextSimplifier simplifier; // Thread-safe through per-batch statistics
+	private final int parallelism; // Number of worker threads
+	private final int batchSize; // Lines per batch
+	private final int queueCapacity; // Maximum batches read but not yet written
+
+	// Lines of one batch, with the counters of their simplification
+	private record Batch(List<String> originalLines, List<String> simplifiedLines, SimplificationStats stats) {
+	}
+
+	/**
+	 * Constructs a {@code SimplificationPipeline}.
+	 *
+	 * @param simplifier    The simplifier applied to every line.
+	 * @param parallelism   The number of worker threads.
+	 * @param batchSize     The number of lines handed to a worker at a time.
+	 * @param queueCapacity The maximum number of batches in flight.
+	 */
+	public SimplificationPipeline(TextSimplifier simplifier, int parallelism, int batchSize, int queueCapacity) {
+		this.simplifier = simplifier;
+		this.parallelism = Math.max(1, parallelism);
+		this.batchSize = Math.max(1, batchSize);
+		this.queueCapacity = Math.max(1, queueCapacity);
+	}
+
+	/**
+	 * Streams a text file through the simplifier, writing the simplified lines to a file.
+	 *
+	 * @param inputPath  The path of the text to simplify.
+	 * @param outputPath The path of the file to write.
+	 * @return The word counters of the whole run.
+	 * @throws IOException If a file cannot be read or written.
+	 */
+	public SimplificationStats run(String inputPath, String outputPath) throws IOException {//Big-O Notation: O(n) - every line read, simplified and written once
+		try (BufferedWriter writer = Files.newBufferedWriter(Path.of(outputPath))) {
+			return run(inputPath, (original, simplified) -> {
+				try {
+					writer.write(simplified);
+					writer.newLine();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Streams a text file through the simplifier, passing every line pair to a consumer
+	 * in input order.
+	 *
+	 * @param inputPath The path of the text to simplify.
+	 * @param consumer  Receives each original line and its simplified version.
+	 * @return The word counters of the whole run.
+	 * @throws IOException If the input cannot be read.
+	 */
+	public SimplificationStats run(String inputPath, BiConsumer<String, String> consumer) throws IOException {//Big-O Notation: O(n) - every line read, simplified and written once
+		try (BufferedReader input = Files.newBufferedReader(Path.of(inputPath))) {
+			return run(input, consumer, null);
+		}
+	}
+
+	/**
+	 * Streams a text file through the simplifier into an output sink, line by line in
+	 * input order. The sink is not ended or closed.
+	 *
+	 * @param inputPath The path of the text to simplify.
+	 * @param sink      Receives each original line and its simplified version.
+	 * @return The line and word counters of the whole run.
+	 * @throws IOException If the input cannot be read or the sink cannot write a line.
+	 */
+	public SimplificationStats run(String inputPath, OutputSink sink) throws IOException {//Big-O Notation: O(n) - every line read, simplified and written once
+		try {
+			return run(inputPath, (original, simplified) -> {
+				try {
+					sink.line(original, simplified);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Streams lines from a reader through the simplifier, passing every line pair to a
+	 * consumer in input order.
+	 *
+	 * @param input    The text to simplify, e.g. standard input. Not closed.
+	 * @param consumer Receives each original line and its simplified version.
+	 * @param output   Flushed whenever every line read so far has been consumed, or
+	 *                 {@code null} to leave flushing to the caller.
+	 * @return The word counters of the whole run.
+	 * @throws IOException If the input cannot be read or the output cannot be flushed.
+	 */
+	public SimplificationStats run(BufferedReader input, BiConsumer<String, String> consumer, Flushable output)
+			throws IOException {//Big-O Notation: O(n) - every line read, simplified and written once
+		BlockingQueue<Future<Batch>> queue = new ArrayBlockingQueue<>(queueCapacity);
+		ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+		Thread reader = Thread.ofPlatform().name("pipeline-reader").daemon(true) // A read of stdin cannot be interrupted
+				.start(() -> readBatches(input, queue, workers));
+
+		SimplificationStats totals = new SimplificationStats();
+		try {
+			while (true) {
+				Batch batch = queue.take().get();
+				if (batch == END) {
+					break;
+				}
+				for (int i = 0; i < batch.originalLines().size(); i++) {
+					consumer.accept(batch.originalLines().get(i), batch.simplifiedLines().get(i));
+				}
+				totals.merge(batch.stats());
+				if (output != null && queue.isEmpty()) {
+					output.flush(); // Caught up with the reader: show what we have
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Simplification interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException io) {
+				throw io;
+			}
+			throw new RuntimeException(e.getCause());
+		} finally {
+			reader.interrupt(); // Unblocks the reader if the consumer failed
+			workers.shutdownNow();
+		}
+		return totals;
+	}
+
+	// Reader stage: reads batches of lines and queues their futures, blocking when the queue is full
+	private void readBatches(BufferedReader reader, BlockingQueue<Future<Batch>> queue, ExecutorService workers) {//Big-O Notation: O(n) - reads every line once
+		try {
+			try {
+				List<String> lines = new ArrayList<>(batchSize);
+				String line;
+				while ((line = reader.readLine()) != null) {
+					lines.add(line.trim());
+					if (lines.size() == batchSize || !reader.ready()) { // Don't hold back a line from a pipe
+						queue.put(submit(lines, workers));
+						lines = new ArrayList<>(batchSize);
+					}
+				}
+				if (!lines.isEmpty()) {
+					queue.put(submit(lines, workers));
+				}
+			} catch (IOException e) {
+				queue.put(CompletableFuture.failedFuture(e));
+				return;
+			}
+			queue.put(CompletableFuture.completedFuture(END));
+		} catch (InterruptedException e) {
+			// The writer stopped early; nothing more to read
+		}
+	}
+
+	// Worker stage: simplifies one batch with its own counters
+	private Future<Batch> submit(List<String> lines, ExecutorService workers) {//Big-O Notation: O(1) - queues the work
+		return workers.submit(() -> {
+			SimplificationStats stats = new SimplificationStats();
+			List<String> simplified = new ArrayList<>(lines.size());
+			for (String line : lines) {
+				simplified.add(simplifier.simplifyLine(line, stats));
+			}
+			return new Batch(lines, simplified, stats);
+		});
+	}
+
+}
@@ -0,0 +1,331 @@
+package ie.atu.sw;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The {@code SimplificationServer} class keeps a loaded {@link TextSimplifier} resident
+ * and serves it over HTTP, so a request pays for the simplification only and not for
+ * loading the embeddings.
+ * <p>
+ * The server is the JDK's {@link HttpServer}, with one virtual thread per request. The
+ * number of requests doing work at once is bounded by a {@link Semaphore}; a request
+ * that finds every permit taken is answered at once with {@code 503 Service Unavailable}
+ * and a {@code Retry-After} header, rather than queued, so latency stays bounded under
+ * overload. The permit is taken before the request body is read, so at most
+ * {@code maxConcurrent} bodies of up to 1 MB are held in memory however many clients
+ * connect; a body declared larger than that is refused without being read.
+ * {@code /health} and {@code /metrics} are not bounded, so the server can
+ * still be observed while saturated.
+ * </p>
+ *
+ * <h2>Endpoints:</h2>
+ * <ul>
+ * <li>{@code POST /simplify} - the request body as UTF-8 text; responds with the
+ * simplified text, one line per input line, and the word counters in
+ * {@code X-Words-To-Simplify}, {@code X-Words-In-Google-1000} and
+ * {@code X-Words-Not-In-Embeddings} headers.</li>
+ * <li>{@code GET /replacements?word=<word>&k=<k>} - the {@code k} (default 5) closest
+ * Google-1000 words with their scores, as JSON; {@code 404} if the word has no
+ * embedding, and an empty list if no target scores for it (e.g. a zero vector under
+ * cosine); {@code 501} if the server runs from a {@link ReplacementTable}.</li>
+ * <li>{@code GET /health} - status and sizes of the loaded files, as JSON.</li>
+ * <li>{@code GET /metrics} - request counts, request latency, word counters and the
+ * {@link RunMetrics} of the server, as JSON.</li>
+ * </ul>
+ *
+ * @see CommandLineRunner
+ * @see TextSimplifier
+ * @see RunMetrics
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class SimplificationServer {
+
+	private static final int MAX_BODY_BYTES = 1 << 20; // Largest text accepted by /simplify
+	private static final int DEFAULT_K = 5; // Replacements returned when k is not given
+	private static final int MAX_K = 100; // Largest k accepted by /replacements
+
+	private final TextSimplifier simplifier; // Thread-safe through per-request statistics
+	private final ReplacementCache replacementCache; // Shared by every request
+	private final RunMetrics metrics; // Load phases, plus simplification totals; guarded by itself
+	private final int embeddingsSize; // Words in the embeddings, for /health
+	private final int targetsSize; // Words in the target list, for /health
+	private final int maxConcurrent; // Requests allowed to work at once
+	private final Semaphore permits; // Free slots for bounded requests
+
+	private final LongAdder requests = new LongAdder(); // Bounded requests received
+	private final LongAdder rejected = new LongAdder(); // Requests answered with 503
+	private final LatencyHistogram requestLatency = new LatencyHistogram(); // Bounded requests served
+	private final SimplificationStats wordTotals = new SimplificationStats(); // Guarded by itself
+	private final long startedAt = System.nanoTime();
+	private final CountDownLatch stopped = new CountDownLatch(1);
+
+	// A handler of a bounded endpoint, given the request body already read
+	private interface BoundedHandler {
+		void handle(HttpExchange exchange, byte[] body) throws IOException;
+	}
+
+	private HttpServer server;
+	private ExecutorService executor;
+
+	/**
+	 * Constructs a {@code SimplificationServer}.
+	 *
+	 * @param simplifier       The simplifier, with its embeddings and targets loaded.
+	 * @param replacementCache The cache the simplifier uses, for its hit rate.
+	 * @param metrics          The metrics of the loads; simplification totals are added to it.
+	 * @param embeddingsSize   The number of words in the embeddings.
+	 * @param targetsSize      The number of target words.
+	 * @param maxConcurrent    The maximum number of requests doing work at once.
+	 */
+	public SimplificationServer(TextSimplifier simplifier, ReplacementCache replacementCache, RunMetrics metrics,
+			int embeddingsSize, int targetsSize, int maxConcurrent) {
+		this.simplifier = simplifier;
+		this.replacementCache = replacementCache;
+		this.metrics = metrics;
+		this.embeddingsSize = embeddingsSize;
+		this.targetsSize = targetsSize;
+		this.maxConcurrent = Math.max(1, maxConcurrent);
+		this.permits = new Semaphore(this.maxConcurrent);
+	}
+
+	/**
+	 * Starts serving on an address.
+	 *
+	 * @param address The address and port to bind; port {@code 0} picks a free port.
+	 * @throws IOException If the address cannot be bound.
+	 */
+	public void start(InetSocketAddress address) throws IOException {//Big-O Notation: O(1)
+		server = HttpServer.create(address, 0);
+		executor = Executors.newVirtualThreadPerTaskExecutor();
+		server.setExecutor(executor);
+		server.createContext("/simplify", bounded(this::handleSimplify));
+		server.createContext("/replacements", bounded(this::handleReplacements));
+		server.createContext("/health", this::handleHealth);
+		server.createContext("/metrics", this::handleMetrics);
+		server.start();
+	}
+
+	/**
+	 * Stops the server, letting requests in progress finish.
+	 *
+	 * @param delaySeconds The longest time to wait for requests in progress.
+	 */
+	public void stop(int delaySeconds) {//Big-O Notation: O(1)
+		if (server != null) {
+			server.stop(delaySeconds);
+			executor.close();
+		}
+		stopped.countDown();
+	}
+
+	/**
+	 * Blocks until {@link #stop(int)} is called.
+	 *
+	 * @throws InterruptedException If the waiting thread is interrupted.
+	 */
+	public void awaitStop() throws InterruptedException {//Big-O Notation: O(1)
+		stopped.await();
+	}
+
+	/**
+	 * Retrieves the bound port.
+	 *
+	 * @return The port the server listens on.
+	 */
+	public int getPort() {//Big-O Notation: O(1)
+		return server.getAddress().getPort();
+	}
+
+	// Wraps a handler so that it only runs with a permit, answering 503 when none is free
+	private HttpHandler bounded(BoundedHandler handler) {//Big-O Notation: O(1) - wraps the handler
+		return exchange -> {
+			requests.increment();
+			if (!permits.tryAcquire()) {
+				// Rejected before the body is read, so waiting connections hold no request memory
+				rejected.increment();
+				exchange.getResponseHeaders().set("Retry-After", "1");
+				send(exchange, 503, "text/plain; charset=utf-8", "Server busy, retry later\n");
+				return;
+			}
+			long start = System.nanoTime();
+			try {
+				String declaredLength = exchange.getRequestHeaders().getFirst("Content-Length");
+				if (declaredLength != null && Long.parseLong(declaredLength.trim()) > MAX_BODY_BYTES) {
+					sendTooLarge(exchange);
+					return;
+				}
+				byte[] body = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+				if (body.length > MAX_BODY_BYTES) {
+					sendTooLarge(exchange);
+					return;
+				}
+				handler.handle(exchange, body);
+			} catch (NumberFormatException e) {
+				send(exchange, 400, "text/plain; charset=utf-8", "Invalid Content-Length\n");
+			} catch (RuntimeException e) {
+				send(exchange, 500, "text/plain; charset=utf-8", "Simplification failed: " + e.getMessage() + "\n");
+			} finally {
+				permits.release();
+				requestLatency.record(System.nanoTime() - start);
+			}
+		};
+	}
+
+	// Answers 413 for a body over the size limit
+	private static void sendTooLarge(HttpExchange exchange) throws IOException {//Big-O Notation: O(1)
+		send(exchange, 413, "text/plain; charset=utf-8", "Text larger than " + MAX_BODY_BYTES + " bytes\n");
+	}
+
+	// POST /simplify: simplifies the body line by line
+	private void handleSimplify(HttpExchange exchange, byte[] body) throws IOException {//Big-O Notation: O(n) - every word of the body
+		if (!"POST".equals(exchange.getRequestMethod())) {
+			exchange.getResponseHeaders().set("Allow", "POST");
+			send(exchange, 405, "text/plain; charset=utf-8", "Use POST\n");
+			return;
+		}
+
+		long start = System.nanoTime();
+		SimplificationStats stats = new SimplificationStats();
+		StringBuilder simplified = new StringBuilder(body.length + 16);
+		new String(body, StandardCharsets.UTF_8).lines()
+				.forEach(line -> simplified.append(simplifier.simplifyLine(line.trim(), stats)).append('\n'));
+		long nanos = System.nanoTime() - start;
+
+		synchronized (wordTotals) {
+			wordTotals.merge(stats);
+		}
+		synchronized (metrics) {
+			metrics.add(RunMetrics.Phase.SIMPLIFICATION, nanos,
+					stats.getWordsToSimplify() + stats.getWordsInGoogle1000() + stats.getWordsNotInEmbeddings());
+		}
+
+		exchange.getResponseHeaders().set("X-Words-To-Simplify", Long.toString(stats.getWordsToSimplify()));
+		exchange.getResponseHeaders().set("X-Words-In-Google-1000", Long.toString(stats.getWordsInGoogle1000()));
+		exchange.getResponseHeaders().set("X-Words-Not-In-Embeddings", Long.toString(stats.getWordsNotInEmbeddings()));
+		send(exchange, 200, "text/plain; charset=utf-8", simplified.toString());
+	}
+
+	// GET /replacements?word=...&k=...: the k closest targets of a word
+	private void handleReplacements(HttpExchange exchange, byte[] body) throws IOException {//Big-O Notation: O(n log k) - one search over n targets
+		Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+		String word = query.get("word");
+		if (word == null || word.isBlank()) {
+			send(exchange, 400, "text/plain; charset=utf-8", "Missing word parameter\n");
+			return;
+		}
+		int k;
+		try {
+			k = query.containsKey("k") ? Integer.parseInt(query.get("k")) : DEFAULT_K;
+		} catch (NumberFormatException e) {
+			send(exchange, 400, "text/plain; charset=utf-8", "k must be a number\n");
+			return;
+		}
+		if (k < 1 || k > MAX_K) {
+			send(exchange, 400, "text/plain; charset=utf-8", "k must be between 1 and " + MAX_K + "\n");
+			return;
+		}
+
+		List<ScoredWord> replacements;
+		try {
+			replacements = simplifier.findClosestWords(word.trim(), k);
+		} catch (UnsupportedOperationException e) {
+			send(exchange, 501, "text/plain; charset=utf-8", e.getMessage() + "\n"); // Served from a replacement table
+			return;
+		}
+		StringWriter response = new StringWriter();
+		JsonWriter json = new JsonWriter(response, false);
+		json.beginObject().name("word").value(word.trim()).name("replacements").beginArray();
+		for (ScoredWord replacement : replacements) {
+			json.beginObject().name("word").value(replacement.word()).name("score").value(replacement.score()).endObject();
+		}
+		json.endArray().endObject();
+		boolean unknown = replacements.isEmpty() && !simplifier.hasEmbedding(word.trim()); // Not just nothing scored
+		send(exchange, unknown ? 404 : 200, "application/json", response.toString());
+	}
+
+	// GET /health: liveness and loaded sizes
+	private void handleHealth(HttpExchange exchange) throws IOException {//Big-O Notation: O(1)
+		send(exchange, 200, "application/json", String.format(Locale.ROOT,
+				"{\"status\": \"ok\", \"embeddings\": %d, \"targets\": %d, \"uptimeSeconds\": %.1f}\n", embeddingsSize,
+				targetsSize, (System.nanoTime() - startedAt) / 1e9));
+	}
+
+	// GET /metrics: request, word and run metrics
+	private void handleMetrics(HttpExchange exchange) throws IOException {//Big-O Notation: O(1) - fixed size document
+		StringWriter response = new StringWriter();
+		JsonWriter json = new JsonWriter(response, true);
+		json.beginObject();
+		json.name("uptimeSeconds").value((System.nanoTime() - startedAt) / 1e9);
+		json.name("requests").value(requests.sum());
+		json.name("rejected").value(rejected.sum());
+		json.name("inFlight").value(maxConcurrent - permits.availablePermits());
+		json.name("maxConcurrent").value(maxConcurrent);
+		json.name("requestLatencyNanos").beginObject()
+				.name("mean").value(requestLatency.getMeanNanos())
+				.name("p50").value(requestLatency.getPercentileNanos(50))
+				.name("p99").value(requestLatency.getPercentileNanos(99))
+				.name("max").value(requestLatency.getMaxNanos())
+				.endObject();
+		synchronized (wordTotals) {
+			json.name("words").beginObject()
+					.name("toSimplify").value(wordTotals.getWordsToSimplify())
+					.name("inGoogle1000").value(wordTotals.getWordsInGoogle1000())
+					.name("notInEmbeddings").value(wordTotals.getWordsNotInEmbeddings())
+					.endObject();
+		}
+		json.name("run");
+		synchronized (metrics) {
+			metrics.recordCacheLookups(replacementCache.getHits(), replacementCache.getMisses());
+			metrics.writeJson(json);
+		}
+		json.endObject();
+		send(exchange, 200, "application/json", response.toString());
+	}
+
+	// Splits a raw query string into decoded parameters
+	private static Map<String, String> parseQuery(String rawQuery) {//Big-O Notation: O(n) - length of the query
+		Map<String, String> parameters = new HashMap<>();
+		if (rawQuery == null) {
+			return parameters;
+		}
+		for (String pair : rawQuery.split("&")) {
+			int equals = pair.indexOf('=');
+			String name = equals < 0 ? pair : pair.substring(0, equals);
+			String value = equals < 0 ? "" : pair.substring(equals + 1);
+			parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+		}
+		return parameters;
+	}
+
+	// Sends a complete response and closes the exchange
+	private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {//Big-O Notation: O(n) - size of the body
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+}
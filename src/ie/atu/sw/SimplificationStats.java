@@ -0,0 +1,100 @@
+package ie.atu.sw;
+
+/**
+ * The {@code SimplificationStats} class holds the line and word counters of one
+ * simplification run.
+ * <p>
+ * Each thread of a parallel run updates its own instance without locking, and the
+ * instances are combined with {@link #merge(SimplificationStats)} when the run ends.
+ * </p>
+ *
+ * @see TextSimplifier#simplifyText(java.util.List, int)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class SimplificationStats {
+
+	private long wordsToSimplify; // Words replaced by their closest Google-1000 match
+	private long wordsInGoogle1000; // Words already in Google-1000
+	private long wordsNotInEmbeddings; // Words not found in the embeddings
+	private long lines; // Lines simplified
+
+	/**
+	 * Records a word that was replaced.
+	 */
+	public void recordWordToSimplify() {//Big-O Notation: O(1)
+		wordsToSimplify++;
+	}
+
+	/**
+	 * Records a word that is already in Google-1000.
+	 */
+	public void recordWordInGoogle1000() {//Big-O Notation: O(1)
+		wordsInGoogle1000++;
+	}
+
+	/**
+	 * Records a word that is not in the embeddings.
+	 */
+	public void recordWordNotInEmbeddings() {//Big-O Notation: O(1)
+		wordsNotInEmbeddings++;
+	}
+
+	/**
+	 * Records a line that was simplified.
+	 */
+	public void recordLine() {//Big-O Notation: O(1)
+		lines++;
+	}
+
+	/**
+	 * Adds the counters of another instance to this one.
+	 *
+	 * @param other The counters to add.
+	 */
+	public void merge(SimplificationStats other) {//Big-O Notation: O(1)
+		wordsToSimplify += other.wordsToSimplify;
+		wordsInGoogle1000 += other.wordsInGoogle1000;
+		wordsNotInEmbeddings += other.wordsNotInEmbeddings;
+		lines += other.lines;
+	}
+
+	/**
+	 * Retrieves the number of words that were replaced.
+	 *
+	 * @return The count of words simplified.
+	 */
+	public long getWordsToSimplify() {//Big-O Notation: O(1) retrieving counters
+		return wordsToSimplify;
+	}
+
+	/**
+	 * Retrieves the number of words found in Google-1000.
+	 *
+	 * @return The count of words in Google-1000.
+	 */
+	public long getWordsInGoogle1000() {//Big-O Notation: O(1) retrieving counters
+		return wordsInGoogle1000;
+	}
+
+	/**
+	 * Retrieves the number of words not found in the embeddings.
+	 *
+	 * @return The count of words missing in the embeddings.
+	 */
+	public long getWordsNotInEmbeddings() {//Big-O Notation: O(1) retrieving counters
+		return wordsNotInEmbeddings;
+	}
+
+	/**
+	 * Retrieves the number of lines simplified.
+	 *
+	 * @return The count of lines.
+	 */
+	public long getLines() {//Big-O Notation: O(1) retrieving counters
+		return lines;
+	}
+
+}
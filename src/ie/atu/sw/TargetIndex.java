@@ -0,0 +1,192 @@
+package ie.atu.sw;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * The {@code TargetIndex} class packs the vectors of the target vocabulary
+ * (e.g. the Google-1000 words) into a single contiguous, row-major {@code float[]}.
+ * <p>
+ * Row {@code i} of the matrix holds the vector of {@link #word(int)} and starts at
+ * {@link #offset(int)}. Scanning the matrix sequentially avoids the entry objects and
+ * separate {@code float[]} arrays of a {@code Map<String, float[]>}, which keeps the
+ * nearest-neighbour search in {@link TextSimplifier} cache friendly.
+ * </p>
+ *
+ * <h2>Layout:</h2>
+ * <pre>
+ * vectors = [ row 0 (dimension floats) | row 1 | ... | row size-1 ]
+ * words   = [ word 0, word 1, ..., word size-1 ]
+ * norms   = [ ||row 0||, ||row 1||, ..., ||row size-1|| ]
+ * </pre>
+ *
+ * <p>
+ * The L2 norm of every row is computed once when the index is built, so that
+ * cosine similarity and Euclidean distance reduce to a dot product per comparison
+ * (see {@link SimilarityStrategy#calculate(float[], double, float[], int, double)}).
+ * </p>
+ *
+ * @see FileParser#loadGoogleWordsFile(String)
+ * @see TextSimplifier
+ * @see SimilarityStrategy#calculate(float[], float[], int)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class TargetIndex {
+
+	private final String[] words; // Target words, parallel to the matrix rows
+	private final float[] vectors; // Row-major matrix of target vectors
+	private final double[] norms; // Precomputed L2 norm of each row
+	private final int dimension; // Length of each vector (row)
+	private final WordIndex rows; // word -> row, for membership checks
+
+	/**
+	 * Constructs a {@code TargetIndex} from a list of words and their vectors.
+	 *
+	 * @param words     The target words, in row order.
+	 * @param vectors   The vectors of the target words, in the same order.
+	 * @param dimension The length of each vector.
+	 */
+	public TargetIndex(List<String> words, List<float[]> vectors, int dimension) {//Big-O Notation: O(n * d) - copies every vector once into the matrix
+		this.dimension = dimension;
+		this.words = words.toArray(new String[0]);
+		this.vectors = new float[this.words.length * dimension];
+		this.norms = new double[this.words.length];
+
+		for (int i = 0; i < this.words.length; i++) {
+			System.arraycopy(vectors.get(i), 0, this.vectors, i * dimension, dimension);
+			norms[i] = norm(this.vectors, i * dimension, dimension);
+		}
+		this.rows = new WordIndex(this.words);
+	}
+
+	/**
+	 * Calculates the L2 norm (length) of a vector stored in an array.
+	 *
+	 * @param vector The array holding the vector.
+	 * @param offset The position of the first component.
+	 * @param length The number of components.
+	 * @return The square root of the sum of squared components.
+	 */
+	public static double norm(float[] vector, int offset, int length) {//Big-O Notation: O(n) - single pass over the components
+		double sum = 0.0;
+		for (int i = offset; i < offset + length; i++) {
+			sum += vector[i] * vector[i];
+		}
+		return Math.sqrt(sum);
+	}
+
+	/**
+	 * Builds a {@code TargetIndex} from a map of words to vectors.
+	 *
+	 * @param wordEmbeddings The target words and their vectors.
+	 * @return A new {@code TargetIndex} containing every entry of the map.
+	 */
+	public static TargetIndex fromMap(Map<String, float[]> wordEmbeddings) {//Big-O Notation: O(n * d) - one pass over the map
+		List<String> words = new ArrayList<>(wordEmbeddings.size());
+		List<float[]> vectors = new ArrayList<>(wordEmbeddings.size());
+		int dimension = 0;
+
+		for (Map.Entry<String, float[]> entry : wordEmbeddings.entrySet()) {
+			words.add(entry.getKey());
+			vectors.add(entry.getValue());
+			dimension = entry.getValue().length;
+		}
+		return new TargetIndex(words, vectors, dimension);
+	}
+
+	/**
+	 * Computes a CRC-32C checksum of every word and vector, in row order. Two indexes with
+	 * the same fingerprint have, in practice, the same rows; files built over an index,
+	 * such as an {@link HnswIndex} graph, record it to detect other targets.
+	 *
+	 * @return The checksum of the rows.
+	 */
+	public long fingerprint() {//Big-O Notation: O(n * d) - every word and component once
+		CRC32C checksum = new CRC32C();
+		ByteBuffer row = ByteBuffer.allocate(dimension * Float.BYTES);
+		for (int i = 0; i < words.length; i++) {
+			byte[] word = words[i].getBytes(StandardCharsets.UTF_8);
+			checksum.update(word.length);
+			checksum.update(word);
+			row.clear();
+			row.asFloatBuffer().put(vectors, offset(i), dimension);
+			checksum.update(row);
+		}
+		return checksum.getValue();
+	}
+
+	/**
+	 * Checks whether a word is part of the target vocabulary.
+	 *
+	 * @param word The word to check, a {@code String} or a {@link TokenSlice}.
+	 * @return {@code true} if the word has a row in this index.
+	 */
+	public boolean contains(CharSequence word) {//Big-O Notation: O(1) - one probe of the word index
+		return rows.contains(word);
+	}
+
+	/**
+	 * Retrieves the word stored at a row.
+	 *
+	 * @param row The row number.
+	 * @return The target word of that row.
+	 */
+	public String word(int row) {//Big-O Notation: O(1) - array access
+		return words[row];
+	}
+
+	/**
+	 * Retrieves the start position of a row in {@link #getVectors()}.
+	 *
+	 * @param row The row number.
+	 * @return The offset of the first component of the row.
+	 */
+	public int offset(int row) {//Big-O Notation: O(1) - arithmetic
+		return row * dimension;
+	}
+
+	/**
+	 * Retrieves the precomputed L2 norm of a row.
+	 *
+	 * @param row The row number.
+	 * @return The norm of the row's vector.
+	 */
+	public double norm(int row) {//Big-O Notation: O(1) - array access
+		return norms[row];
+	}
+
+	/**
+	 * Retrieves the number of target words.
+	 *
+	 * @return The number of rows.
+	 */
+	public int size() {//Big-O Notation: O(1) - Retrieving stored Data
+		return words.length;
+	}
+
+	/**
+	 * Retrieves the vector length.
+	 *
+	 * @return The number of components in each row.
+	 */
+	public int getDimension() {//Big-O Notation: O(1) - Retrieving stored Data
+		return dimension;
+	}
+
+	/**
+	 * Retrieves the row-major matrix of target vectors.
+	 *
+	 * @return The backing array; it must not be modified.
+	 */
+	public float[] getVectors() {//Big-O Notation: O(1) - Retrieving stored Data
+		return vectors;
+	}
+
+}
@@ -1,6 +1,10 @@
 package ie.atu.sw;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 /**
  * The {@code TextSimplifier} class provides functionality to simplify text by converting
  * words to their closest matches from the Google-1000 word list.
@@ -11,15 +15,20 @@ import java.util.*;
  *
  * <h2>Features:</h2>
  * <ul>
- * <li>Uses various similarity strategies to find the closest word.</li>
+ * <li>Uses various similarity strategies to find the closest word, or the top-k candidates.</li>
  * <li>Keeps track of statistics, such as words simplified and words not found.</li>
- * <li>Supports batch processing of multiple lines of text.</li>
+ * <li>Supports batch processing of multiple lines of text, optionally in parallel.</li>
+ * <li>Optionally memoises replacements in a {@link ReplacementCache}.</li>
+ * <li>Can run in lookup-only mode from a precomputed {@link ReplacementTable},
+ * without any vectors loaded.</li>
  * </ul>
  *
  *
  *@see SimilarityStrategy
+ *@see EmbeddingStore
  *@see FileParser#getEmbeddings()
  *@see FileParser#getGoogleWords()
+ *@see TargetIndex
  *
  * @author Declan O'Meara
  * @version 1.0
@@ -27,13 +36,27 @@ import java.util.*;
  */
 public class TextSimplifier {
 
-	private final Map<String, float[]> embeddings; // Full embeddings map: word -> vector
-    private final Map<String, float[]> googleWordEmbeddings; // Google-1000 embeddings: word -> vector
+	private final EmbeddingStore embeddings; // Full embeddings vocabulary: word -> vector
+    private final TargetIndex googleWordIndex; // Google-1000 embeddings packed row by row
     private final SimilarityStrategy similarityMeasure; // Strategy for similarity calculations
+    private final SimilarityCalculationType calculationType; // Type of the similarity measure
+    private final ReplacementTable replacementTable; // Precomputed replacements in lookup-only mode, otherwise null
+    private final int tableColumn; // Column of calculationType in the replacement table, -1 without one
+    private ReplacementCache replacementCache; // Optional memo of previous searches, may be null
+    private HnswIndex nearestNeighbourIndex; // Optional approximate search over the targets, may be null
+    private QuantizedEmbeddings quantizedTargets; // Optional int8 copy of the targets for a first pass, may be null
+    private int rerankCount; // Candidates from the int8 pass re-scored with the float vectors
+    private LatencyHistogram searchLatency; // Optional record of search durations, may be null
 
-    private int wordsToSimplify; // Counter for words that needed simplification
-    private int wordsInGoogle1000; // Counter for words already in Google-1000
-    private int wordsNotInEmbeddings; // Counter for words not found in embeddings
+    private SimplificationStats stats; // Word counters of the last simplification
+
+    private static final int LINES_PER_TASK = 256; // Lines per parallel task
+
+    /**
+     * The number of int8 candidates re-ranked with the float vectors when the embeddings
+     * are {@link EmbeddingStorage#QUANTIZED}, see {@link #setQuantizedSearch(int)}.
+     */
+    public static final int QUANTIZED_RERANK_COUNT = 8;
     
     
     /**
@@ -46,78 +69,387 @@ public class TextSimplifier {
      */
 	public TextSimplifier(Map<String, float[]> embeddings, Map<String, float[]> googleWordEmbeddings,
 			SimilarityStrategy similarityMeasure) {
+		this(HeapEmbeddingStore.fromMap(embeddings), TargetIndex.fromMap(googleWordEmbeddings), similarityMeasure);
+	}
+
+	/**
+     * Constructs a {@code TextSimplifier} with the specified {@link EmbeddingStore}, a
+     * prebuilt Google-1000 {@link TargetIndex}, and similarity strategy.
+     *
+     * @param embeddings The full embeddings vocabulary, in any storage.
+     * @param googleWordIndex The Google-1000 vectors packed into a contiguous matrix.
+     * @param similarityMeasure The strategy used to calculate word similarity.
+     */
+	public TextSimplifier(EmbeddingStore embeddings, TargetIndex googleWordIndex,
+			SimilarityStrategy similarityMeasure) {
 		this.embeddings = embeddings;
-		this.googleWordEmbeddings = googleWordEmbeddings;
+		this.googleWordIndex = googleWordIndex;
 		this.similarityMeasure = similarityMeasure;
+		this.calculationType = similarityMeasure.getCalculationType();
+		this.replacementTable = null;
+		this.tableColumn = -1;
 		
 		 // Initialize counters
-        this.wordsToSimplify = 0;
-        this.wordsInGoogle1000 = 0;
-        this.wordsNotInEmbeddings = 0;
+        this.stats = new SimplificationStats();
 		
 	}
 	
-	 
+
+	/**
+     * Constructs a {@code TextSimplifier} in lookup-only mode. Every replacement is read
+     * from a precomputed {@link ReplacementTable}; no embeddings are needed.
+     *
+     * @param replacementTable The precomputed replacements.
+     * @param calculationType The similarity measure whose replacements are used.
+     * @throws IllegalArgumentException If the table was built without {@code calculationType}.
+     */
+	public TextSimplifier(ReplacementTable replacementTable, SimilarityCalculationType calculationType) {
+		this.tableColumn = replacementTable.column(calculationType);
+		if (tableColumn < 0) {
+			throw new IllegalArgumentException("Replacement table was built without " + calculationType);
+		}
+		this.embeddings = null;
+		this.googleWordIndex = null;
+		this.similarityMeasure = null;
+		this.calculationType = calculationType;
+		this.replacementTable = replacementTable;
+		this.stats = new SimplificationStats();
+	}
+
 	 /**
      * Simplifies a single line of text by replacing words with their closest matches
      * from the Google-1000 word list.
+     * <p>
+     * Words are matched in lower case with surrounding punctuation removed, so
+     * {@code "Dog,"} is looked up as {@code dog}. Replacements keep the punctuation and
+     * capitalisation of the original word, and the line keeps its original spacing.
+     * </p>
      *
      * @param line The input line of text to simplify.
      * @return A simplified version of the input line.
      */
 	public String simplifyLine(String line) {//Big-O Notation: O(n) The method iterates through each word in the input line to simplify it.
-		String[] inputWords = line.split("\\s+");
-		
-		StringBuilder simplifiedLine = new StringBuilder();
+		return simplifyLine(line, stats);
+	}
+
+	/**
+     * Simplifies a single line of text, recording the word counters in {@code lineStats}.
+     * Safe to call from several threads as long as each uses its own {@code lineStats}.
+     *
+     * @param line The input line of text to simplify.
+     * @param lineStats The counters to update.
+     * @return A simplified version of the input line.
+     */
+	public String simplifyLine(String line, SimplificationStats lineStats) {//Big-O Notation: O(n) The method iterates through each word in the input line to simplify it.
+		StringBuilder simplifiedLine = new StringBuilder(line.length() + 16);
+		LineTokenizer tokenizer = new LineTokenizer(line);
+		TokenSlice word = new TokenSlice(); // Lower-cased word of each token, reused for every lookup
+		int id; // Embeddings id of the current word, found once and reused by the search
+
+		while (tokenizer.next()) {
+			// Keep the original spacing and any leading punctuation
+			simplifiedLine.append(line, tokenizer.gapStart(), tokenizer.coreStart());
+			word.set(line, tokenizer.coreStart(), tokenizer.coreEnd());
 
-		for (String word : inputWords) {
-			if (googleWordEmbeddings.containsKey(word)) {
+			if (replacementTable != null) {
+				appendFromTable(simplifiedLine, word, line, tokenizer.coreStart(), tokenizer.coreEnd(), lineStats);
+			} else if (googleWordIndex.contains(word)) {
 				
 				// if the word exists in Google-1000, keep it as is
-				simplifiedLine.append(word).append(" ");
-				wordsInGoogle1000++; // Increment counter for Google-1000 words
+				simplifiedLine.append(line, tokenizer.coreStart(), tokenizer.coreEnd());
+				lineStats.recordWordInGoogle1000(); // Increment counter for Google-1000 words
 				
 				// Word is in embeddings but not in Google-1000, find the closest match
-			} else if (embeddings.containsKey(word)) {
+			} else if ((id = embeddings.id(word)) >= 0) {
 				
-				String closestWord = findClosestWord(word);
-				simplifiedLine.append(closestWord).append(" ");
-				 wordsToSimplify++;
+				String closestWord = findReplacement(word.toString(), id);
+				appendMatchingCase(simplifiedLine, closestWord, line, tokenizer.coreStart(), tokenizer.coreEnd());
+				lineStats.recordWordToSimplify();
 			} else {
 				// if you cant find the word in the embeddings just as the word as is
-				simplifiedLine.append(word).append(" ");
-				wordsNotInEmbeddings++; // Increment counter for words not in embeddings
+				simplifiedLine.append(line, tokenizer.coreStart(), tokenizer.coreEnd());
+				lineStats.recordWordNotInEmbeddings(); // Increment counter for words not in embeddings
 			}
+			// Keep any trailing punctuation
+			simplifiedLine.append(line, tokenizer.coreEnd(), tokenizer.end());
+		}
+		simplifiedLine.append(line, tokenizer.gapStart(), line.length()); // Trailing whitespace
+		lineStats.recordLine();
+
+		return simplifiedLine.toString();
+	}
+
+	// Lookup-only mode: one probe of the table gives the row of the word and all of its codes
+	private void appendFromTable(StringBuilder out, TokenSlice word, String line, int start, int end,
+			SimplificationStats lineStats) {//Big-O Notation: O(l) - one probe of the table's word index
+		int id = replacementTable.id(word);
+		if (id < 0) {
+			out.append(line, start, end);
+			lineStats.recordWordNotInEmbeddings();
+		} else if (replacementTable.isTargetWord(id)) {
+			out.append(line, start, end);
+			lineStats.recordWordInGoogle1000();
+		} else {
+			appendMatchingCase(out, replacementTable.replacement(id, tableColumn), line, start, end);
+			lineStats.recordWordToSimplify();
+		}
+	}
+
+	// Appends the replacement with the capitalisation of the original word ("Dog" -> "Cat", "DOG" -> "CAT"),
+	// or the original word itself if there is no replacement
+	private static void appendMatchingCase(StringBuilder out, String replacement, String line, int start, int end) {//Big-O Notation: O(l) - scans the original word once
+		if (replacement == null) {
+			out.append(line, start, end);
+			return;
+		}
+		if (!Character.isUpperCase(line.charAt(start)) || replacement.isEmpty()) {
+			out.append(replacement);
+			return;
 		}
 
-		return simplifiedLine.toString().trim();
+		boolean allUpperCase = end - start > 1;
+		for (int i = start; i < end && allUpperCase; i++) {
+			allUpperCase = !Character.isLowerCase(line.charAt(i));
+		}
+		if (allUpperCase) {
+			out.append(replacement.toUpperCase(Locale.ROOT));
+		} else {
+			out.append(Character.toUpperCase(replacement.charAt(0))).append(replacement, 1, replacement.length());
+		}
 	}
+	/**
+     * Sets a cache of previous replacements, shared between runs of the simplifier.
+     *
+     * @param replacementCache The cache to consult before searching, or {@code null} for none.
+     */
+	public void setReplacementCache(ReplacementCache replacementCache) {//Big-O Notation: O(1) - assigns a field
+		this.replacementCache = replacementCache;
+	}
+
+	/**
+     * Sets an approximate nearest-neighbour index to search instead of scanning every
+     * target word. Worth it for target lists of 10k words and more.
+     *
+     * @param nearestNeighbourIndex The index, or {@code null} to go back to the exact scan.
+     * @throws IllegalArgumentException If the index was built with another similarity type.
+     */
+	public void setNearestNeighbourIndex(HnswIndex nearestNeighbourIndex) {//Big-O Notation: O(1) - assigns a field
+		if (nearestNeighbourIndex != null && nearestNeighbourIndex.getCalculationType() != calculationType) {
+			throw new IllegalArgumentException("HNSW index was built for " + nearestNeighbourIndex.getCalculationType()
+					+ ", not " + calculationType);
+		}
+		this.nearestNeighbourIndex = nearestNeighbourIndex;
+	}
+
+	/**
+     * Sets a histogram that receives the duration of every search made while simplifying.
+     * Cache hits and lookup-only mode make no search and are not recorded.
+     *
+     * @param searchLatency The histogram, or {@code null} to stop recording.
+     */
+	public void setSearchLatency(LatencyHistogram searchLatency) {//Big-O Notation: O(1) - assigns a field
+		this.searchLatency = searchLatency;
+	}
+
+	/**
+     * Enables a two-pass search: every target is scored on its int8 codes (see
+     * {@link QuantizedEmbeddings}), then the best {@code rerankCount} candidates are
+     * re-scored with the exact float vectors. The int8 pass reads a quarter of the bytes
+     * of the float scan, which pays off on target lists too large for the CPU caches; the
+     * re-rank keeps the chosen replacements the same in practice.
+     *
+     * @param rerankCount The number of candidates to re-rank, or {@code 0} to go back to the exact scan.
+     */
+	public void setQuantizedSearch(int rerankCount) {//Big-O Notation: O(t * d) - quantizes the targets once
+		this.rerankCount = rerankCount;
+		this.quantizedTargets = rerankCount > 0 && googleWordIndex != null ? QuantizedEmbeddings.quantize(googleWordIndex)
+				: null;
+	}
+
+	/**
+     * Finds the replacement for a word, consulting the cache before searching.
+     *
+     * @param word The word to simplify.
+     * @param id The embeddings id of the word.
+     * @return The closest match from the Google-1000 word list, or the word itself if no
+     *         target scores above negative infinity, e.g. a zero vector under cosine.
+     */
+	private String findReplacement(String word, int id) {//Big-O Notation: O(1) on a cache hit, otherwise O(n) like findClosestWord
+		if (replacementCache == null) {
+			return timedSearch(word, id);
+		}
+
+		String closestWord = replacementCache.get(word, calculationType);
+		if (closestWord == null) {
+			closestWord = timedSearch(word, id);
+			replacementCache.put(word, calculationType, closestWord);
+		}
+		return closestWord;
+	}
+
+	// Searches for the closest target, recording the duration if a histogram is set; keeps the word if none scores
+	private String timedSearch(String word, int id) {//Big-O Notation: O(n) like findClosestWord
+		long start = searchLatency == null ? 0 : System.nanoTime();
+		String closestWord = findClosestWord(id);
+		if (searchLatency != null) {
+			searchLatency.record(System.nanoTime() - start);
+		}
+		return closestWord != null ? closestWord : word;
+	}
+
 	 /**
      * Finds the closest word from the Google-1000 list for a given word based on
      * the selected similarity strategy.
      *
      * @param targetWord The word to simplify.
-     * @return The closest match from the Google-1000 word list.
+     * @return The closest match from the Google-1000 word list, or {@code null} if the word
+     *         has no embedding or no target scores above negative infinity (every score NaN).
+     * @see HnswIndex
+     * @see ReplacementTable#build(EmbeddingStore, TargetIndex)
      */
-	private String findClosestWord(String targetWord) {//Big-O Notation: O(n)  The method iterates through a set of possible matches to calculate similarity scores and find the closest match
-        float[] targetVector = embeddings.get(targetWord); // Get the vector of the target word
-        double maxSimilarity = Double.NEGATIVE_INFINITY; // set to most minimum number to start
-        String closestWord = null;
+	String findClosestWord(String targetWord) {//Big-O Notation: O(n) - one id lookup, then the search below
+		int id = embeddings.id(targetWord);
+		return id < 0 ? null : findClosestWord(id);
+	}
 
-        for (Map.Entry<String, float[]> entry : googleWordEmbeddings.entrySet()) {
-            String googleWord = entry.getKey();
-            float[] googleVector = entry.getValue();
+	// Searches the closest target of the word with the given embeddings id
+	private String findClosestWord(int id) {//Big-O Notation: O(n)  The method iterates through a set of possible matches to calculate similarity scores and find the closest match
+        float[] targetVector = new float[embeddings.getDimension()];
+        embeddings.vector(id, targetVector); // Get the vector of the target word
+        if (nearestNeighbourIndex != null) {
+            List<ScoredWord> closest = withoutNaN(nearestNeighbourIndex.search(targetVector, 1));
+            return closest.isEmpty() ? null : closest.get(0).word();
+        }
+        if (quantizedTargets != null) {
+            List<ScoredWord> closest = rerank(targetVector, quantizedTargets.closestRows(targetVector, calculationType,
+                    rerankCount), 1);
+            return closest.isEmpty() ? null : closest.get(0).word();
+        }
+        float[] googleVectors = googleWordIndex.getVectors(); // Contiguous row-major matrix
+        double targetNorm = TargetIndex.norm(targetVector, 0, targetVector.length); // Computed once per search
+        double maxSimilarity = Double.NEGATIVE_INFINITY; // set to most minimum number to start
+        int closestRow = -1;
 
+        for (int row = 0; row < googleWordIndex.size(); row++) {
             // Calculate similarity using the selected similarity measure
-            double similarity = similarityMeasure.calculate(targetVector, googleVector);
+            double similarity = similarityMeasure.calculate(targetVector, targetNorm, googleVectors,
+                    googleWordIndex.offset(row), googleWordIndex.norm(row));
             if (similarity > maxSimilarity) {
                 maxSimilarity = similarity;
-                closestWord = googleWord;
+                closestRow = row;
             }
         }
 
-        return closestWord; // Return the closest Google-1000 word
+        return closestRow < 0 ? null : googleWordIndex.word(closestRow); // Return the closest Google-1000 word
     }
+
+	/**
+     * Finds the {@code k} closest words from the Google-1000 list for a given word in a
+     * single pass over the targets, keeping the best candidates in a {@link TopKHeap}.
+     *
+     * The word is lower-cased character by character, as {@link #simplifyLine(String)}
+     * does, whatever the default locale.
+     *
+     * @param word The word to simplify.
+     * @param k The number of candidates to return.
+     * @return Up to {@code k} candidates with their scores, best first; empty if the word
+     *         has no embedding, or if no target scores above negative infinity (every score
+     *         NaN, e.g. a zero vector under cosine); {@link #hasEmbedding(String)} tells
+     *         the two apart.
+     * @throws UnsupportedOperationException In lookup-only mode, where no vectors are loaded.
+     */
+	public List<ScoredWord> findClosestWords(String word, int k) {//Big-O Notation: O(n log k) - one pass over n targets, heap updates of log k
+		if (replacementTable != null) {
+			throw new UnsupportedOperationException("Top-k search needs embeddings; not available in lookup-only mode");
+		}
+		float[] targetVector = embeddings.get(lowerCase(word));
+		if (targetVector == null || k <= 0) {
+			return List.of();
+		}
+		if (nearestNeighbourIndex != null) {
+			return withoutNaN(nearestNeighbourIndex.search(targetVector, k));
+		}
+		if (quantizedTargets != null) {
+			return rerank(targetVector, quantizedTargets.closestRows(targetVector, calculationType,
+					Math.max(k, rerankCount)), k);
+		}
+
+		float[] googleVectors = googleWordIndex.getVectors();
+		double targetNorm = TargetIndex.norm(targetVector, 0, targetVector.length);
+		TopKHeap heap = new TopKHeap(k);
+
+		for (int row = 0; row < googleWordIndex.size(); row++) {
+			double similarity = similarityMeasure.calculate(targetVector, targetNorm, googleVectors,
+					googleWordIndex.offset(row), googleWordIndex.norm(row));
+			if (similarity > heap.threshold()) {
+				heap.offer(row, similarity);
+			}
+		}
+
+		int[] rows = new int[heap.size()];
+		double[] scores = new double[heap.size()];
+		int count = heap.drainDescending(rows, scores);
+
+		List<ScoredWord> closestWords = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			closestWords.add(new ScoredWord(googleWordIndex.word(rows[i]), scores[i]));
+		}
+		return closestWords;
+	}
+
+	// Re-scores candidate rows with the exact float vectors and keeps the best k
+	private List<ScoredWord> rerank(float[] targetVector, int[] candidateRows, int k) {//Big-O Notation: O(c * d) - one exact score per candidate
+		double targetNorm = TargetIndex.norm(targetVector, 0, targetVector.length);
+		TopKHeap heap = new TopKHeap(k);
+		for (int row : candidateRows) {
+			double similarity = similarityMeasure.calculate(targetVector, targetNorm, googleWordIndex.getVectors(),
+					googleWordIndex.offset(row), googleWordIndex.norm(row));
+			if (similarity > heap.threshold()) { // Never true for NaN, as in the exact scan
+				heap.offer(row, similarity);
+			}
+		}
+
+		int[] rows = new int[heap.size()];
+		double[] scores = new double[heap.size()];
+		int count = heap.drainDescending(rows, scores);
+
+		List<ScoredWord> closestWords = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			closestWords.add(new ScoredWord(googleWordIndex.word(rows[i]), scores[i]));
+		}
+		return closestWords;
+	}
+	/**
+     * Checks whether a word has an embedding, or a row in the replacement table in
+     * lookup-only mode. The word is lower-cased as by {@link #findClosestWords(String, int)}.
+     *
+     * @param word The word to check.
+     * @return {@code true} if the word can be simplified.
+     */
+	public boolean hasEmbedding(String word) {//Big-O Notation: O(l) - one probe of the word index
+		TokenSlice key = lowerCase(word);
+		return replacementTable != null ? replacementTable.contains(key) : embeddings.contains(key);
+	}
+
+	// Lower-cases a word per character, like the tokens of simplifyLine, so no locale applies
+	private static TokenSlice lowerCase(String word) {//Big-O Notation: O(l) - one pass over the word
+		TokenSlice key = new TokenSlice();
+		key.set(word, 0, word.length());
+		return key;
+	}
+
+	// Drops candidates scored NaN, which the exact scan never picks; approximate searches may return them
+	private static List<ScoredWord> withoutNaN(List<ScoredWord> candidates) {//Big-O Notation: O(k) - one pass over the candidates
+		for (ScoredWord candidate : candidates) {
+			if (Double.isNaN(candidate.score())) {
+				List<ScoredWord> scored = new ArrayList<>(candidates);
+				scored.removeIf(word -> Double.isNaN(word.score()));
+				return scored;
+			}
+		}
+		return candidates;
+	}
+
 	/**
      * Simplifies multiple lines of text.
      *
@@ -126,9 +458,7 @@ public class TextSimplifier {
      */
 	public List<String> simplifyText(List<String> textLines) {//Big-O Notation: O(n).Iterating through a list.
 		// Reset counters for each new simplification
-        wordsToSimplify = 0;
-        wordsInGoogle1000 = 0;
-        wordsNotInEmbeddings = 0;
+        stats = new SimplificationStats();
 		
 		List<String> simplifiedText = new ArrayList<>(); // Create a list to store the simplified lines
 	    for (String line : textLines) {
@@ -137,29 +467,97 @@ public class TextSimplifier {
 	    }
 	    return simplifiedText; // Return the list of simplified lines
 	}
+
+	/**
+     * Simplifies multiple lines of text in parallel on a fork/join pool.
+     * <p>
+     * The lines are split into blocks of {@value #LINES_PER_TASK}; each task keeps its own
+     * {@link SimplificationStats}, which are merged once all tasks finish. The output keeps
+     * the order of the input lines.
+     * </p>
+     *
+     * @param textLines A list of text lines to simplify.
+     * @param parallelism The number of worker threads; 1 simplifies on the calling thread.
+     * @return A list of simplified text lines, in input order.
+     */
+	public List<String> simplifyText(List<String> textLines, int parallelism) {//Big-O Notation: O(n / p) - n lines spread over p workers
+		if (parallelism <= 1 || textLines.size() <= LINES_PER_TASK) {
+			return simplifyText(textLines);
+		}
+
+		String[] simplifiedText = new String[textLines.size()];
+		List<SimplificationStats> taskStats = new ArrayList<>();
+		List<Callable<Void>> tasks = new ArrayList<>();
+
+		for (int start = 0; start < textLines.size(); start += LINES_PER_TASK) {
+			final int from = start;
+			final int to = Math.min(start + LINES_PER_TASK, textLines.size());
+			SimplificationStats blockStats = new SimplificationStats();
+			taskStats.add(blockStats);
+
+			tasks.add(() -> {
+				for (int i = from; i < to; i++) {
+					simplifiedText[i] = simplifyLine(textLines.get(i), blockStats);
+				}
+				return null;
+			});
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			for (Future<Void> result : pool.invokeAll(tasks)) {
+				result.get(); // Rethrows any failure of a task
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+
+		// Merge the per-task counters once every task is done
+		SimplificationStats totals = new SimplificationStats();
+		for (SimplificationStats blockStats : taskStats) {
+			totals.merge(blockStats);
+		}
+		stats = totals;
+
+		return Arrays.asList(simplifiedText);
+	}
+
+	/**
+     * Retrieves the word counters of the last simplification.
+     *
+     * @return The statistics of the last call to {@code simplifyText}.
+     */
+	public SimplificationStats getStats() {//Big-O Notation: O(1) retrieving counters
+		return stats;
+	}
 	 /**
      * Retrieves the number of words that needed simplification.
      *
      * @return The count of words simplified.
      */
-    public int getWordsToSimplify() {//Big-O Notation: O(1) retrieving counters
-        return wordsToSimplify;
+    public long getWordsToSimplify() {//Big-O Notation: O(1) retrieving counters
+        return stats.getWordsToSimplify();
     }
     /**
      * Retrieves the number of words found in the Google-1000 list.
      *
      * @return The count of words in Google-1000.
      */
-    public int getWordsInGoogle1000() {//Big-O Notation: O(1) retrieving counters
-        return wordsInGoogle1000;
+    public long getWordsInGoogle1000() {//Big-O Notation: O(1) retrieving counters
+        return stats.getWordsInGoogle1000();
     }
     /**
      * Retrieves the number of words not found in the embeddings.
      *
      * @return The count of words missing in the embeddings.
      */
-    public int getWordsNotInEmbeddings() {//Big-O Notation: O(1) retrieving counters
-        return wordsNotInEmbeddings;
+    public long getWordsNotInEmbeddings() {//Big-O Notation: O(1) retrieving counters
+        return stats.getWordsNotInEmbeddings();
     }
 	
 
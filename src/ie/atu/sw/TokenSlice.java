@@ -0,0 +1,91 @@
+package ie.atu.sw;
+
+import java.util.Arrays;
+
+/**
+ * The {@code TokenSlice} class is a reusable, mutable {@link CharSequence} holding the
+ * lower-cased core of the current token, so that maps keyed by {@code String} can be
+ * queried without creating a {@code String} per token.
+ * <p>
+ * {@link #hashCode()} returns the same value as {@link String#hashCode()} for the same
+ * characters, and {@link #equals(Object)} is {@code true} for any {@code CharSequence}
+ * with the same characters. {@code HashMap} and {@code ConcurrentHashMap} call
+ * {@code equals} on the key passed to {@code get}/{@code containsKey}, so a
+ * {@code TokenSlice} finds the matching {@code String} key. A slice must never be
+ * stored in a map, since its contents change with every token.
+ * </p>
+ *
+ * @see LineTokenizer
+ * @see TextSimplifier#simplifyLine(String, SimplificationStats)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class TokenSlice implements CharSequence {
+
+	private char[] chars = new char[32]; // Reused buffer, grown when needed
+	private int length; // Number of characters in use
+	private int hash; // String-compatible hash of the current contents
+
+	/**
+	 * Replaces the contents with the lower-cased characters of a region of a sequence.
+	 *
+	 * @param source The sequence to copy from.
+	 * @param start  The first character to copy.
+	 * @param end    The character after the last one to copy.
+	 */
+	public void set(CharSequence source, int start, int end) {//Big-O Notation: O(l) - one pass over the region
+		length = end - start;
+		if (length > chars.length) {
+			chars = new char[Math.max(length, chars.length * 2)];
+		}
+
+		int h = 0;
+		for (int i = 0; i < length; i++) {
+			char c = Character.toLowerCase(source.charAt(start + i));
+			chars[i] = c;
+			h = 31 * h + c;
+		}
+		hash = h;
+	}
+
+	@Override
+	public int length() {//Big-O Notation: O(1)
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {//Big-O Notation: O(1)
+		return chars[index];
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {//Big-O Notation: O(l) - copies the region
+		return new String(chars, start, end - start);
+	}
+
+	@Override
+	public int hashCode() {//Big-O Notation: O(1) - computed in set()
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object other) {//Big-O Notation: O(l) - compares character by character
+		if (!(other instanceof CharSequence sequence) || sequence.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (sequence.charAt(i) != chars[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {//Big-O Notation: O(l) - copies the characters
+		return new String(Arrays.copyOf(chars, length));
+	}
+
+}
@@ -0,0 +1,130 @@
+package ie.atu.sw;
+
+/**
+ * The {@code TopKHeap} class keeps the {@code k} highest-scoring rows seen so far, using
+ * a fixed-size binary min-heap over primitive arrays.
+ * <p>
+ * The lowest of the kept scores sits at the root, so a new candidate only needs to beat
+ * the root to be admitted. No objects are created per candidate, which keeps a single
+ * pass over thousands of targets free of boxing and garbage.
+ * </p>
+ *
+ * @see TextSimplifier#findClosestWords(String, int)
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class TopKHeap {
+
+	private final int[] rows; // Heap of row numbers
+	private final double[] scores; // Heap of scores, parallel to rows
+	private int size; // Number of entries in use
+
+	/**
+	 * Constructs an empty {@code TopKHeap}.
+	 *
+	 * @param k The number of best entries to keep.
+	 */
+	public TopKHeap(int k) {
+		this.rows = new int[Math.max(1, k)];
+		this.scores = new double[Math.max(1, k)];
+	}
+
+	/**
+	 * Offers a candidate; it is kept if the heap is not full or it beats the lowest kept score.
+	 *
+	 * @param row   The row number of the candidate.
+	 * @param score The score of the candidate, higher is better.
+	 */
+	public void offer(int row, double score) {//Big-O Notation: O(log k) - at most one sift
+		if (size < rows.length) {
+			rows[size] = row;
+			scores[size] = score;
+			siftUp(size++);
+		} else if (score > scores[0]) {
+			rows[0] = row;
+			scores[0] = score;
+			siftDown(0);
+		}
+	}
+
+	/**
+	 * Retrieves the lowest score kept, the bar a new candidate must beat once the heap is full.
+	 *
+	 * @return The root score, or negative infinity while the heap is not full.
+	 */
+	public double threshold() {//Big-O Notation: O(1)
+		return size < rows.length ? Double.NEGATIVE_INFINITY : scores[0];
+	}
+
+	/**
+	 * Retrieves the number of entries kept.
+	 *
+	 * @return At most {@code k}.
+	 */
+	public int size() {//Big-O Notation: O(1)
+		return size;
+	}
+
+	/**
+	 * Empties the heap into arrays ordered from best to worst score.
+	 *
+	 * @param rowsOut   Receives the row numbers, best first; at least {@link #size()} long.
+	 * @param scoresOut Receives the scores, best first; at least {@link #size()} long.
+	 * @return The number of entries written.
+	 */
+	public int drainDescending(int[] rowsOut, double[] scoresOut) {//Big-O Notation: O(k log k) - k removals from the heap
+		int count = size;
+		// Repeatedly remove the minimum and fill the output from the back
+		for (int i = count - 1; i >= 0; i--) {
+			rowsOut[i] = rows[0];
+			scoresOut[i] = scores[0];
+			size--;
+			rows[0] = rows[size];
+			scores[0] = scores[size];
+			siftDown(0);
+		}
+		return count;
+	}
+
+	private void siftUp(int index) {//Big-O Notation: O(log k)
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (scores[parent] <= scores[index]) {
+				return;
+			}
+			swap(index, parent);
+			index = parent;
+		}
+	}
+
+	private void siftDown(int index) {//Big-O Notation: O(log k)
+		while (true) {
+			int smallest = index;
+			int left = 2 * index + 1;
+			int right = left + 1;
+			if (left < size && scores[left] < scores[smallest]) {
+				smallest = left;
+			}
+			if (right < size && scores[right] < scores[smallest]) {
+				smallest = right;
+			}
+			if (smallest == index) {
+				return;
+			}
+			swap(index, smallest);
+			index = smallest;
+		}
+	}
+
+	private void swap(int a, int b) {//Big-O Notation: O(1)
+		int row = rows[a];
+		rows[a] = rows[b];
+		rows[b] = row;
+		double score = scores[a];
+		scores[a] = scores[b];
+		scores[b] = score;
+	}
+
+}
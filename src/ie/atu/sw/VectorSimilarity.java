@@ -0,0 +1,288 @@
+package ie.atu.sw;
+
+import java.util.Locale;
+import java.util.Random;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@code VectorSimilarity} class implements the {@link SimilarityStrategy} interface
+ * using the incubating Java Vector API ({@code jdk.incubator.vector}).
+ * <p>
+ * One instance covers a single {@link SimilarityCalculationType}. Each kernel processes
+ * as many floats per instruction as the host supports (e.g. 8 lanes on AVX2, 16 on AVX-512)
+ * and finishes the remaining components with a scalar loop. Scores are the same as the
+ * scalar strategies, apart from floating point rounding differences caused by the
+ * different order of additions. With precomputed norms, cosine and Euclidean only
+ * need the vectorised dot product.
+ * </p>
+ *
+ * <p>
+ * The module must be added at compile time and at run time with
+ * {@code --add-modules jdk.incubator.vector}. Use
+ * {@link SimilarityCalculationType#createStrategy()} rather than this class directly:
+ * it falls back to the scalar strategies when the module is not present.
+ * </p>
+ * <p>
+ * {@link #main(String[])} checks every kernel against the scalar strategy of the same
+ * type, within {@value #TOLERANCE} relative to the size of the score.
+ * </p>
+ *
+ * @see SimilarityStrategy
+ * @see CosineSimilarity
+ * @see DotProductSimilarity
+ * @see EuclideanDistanceSimilarity
+ * @see ManhattanDistanceSimilarity
+ * @see SimilarityCalculationType#createStrategy()
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class VectorSimilarity implements SimilarityStrategy {
+
+	private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED; // Widest shape the CPU supports
+
+	/**
+	 * The largest difference from the scalar score accepted by {@link #main(String[])},
+	 * relative to the larger of {@code 1} and the scalar score. Lanes are summed in
+	 * {@code float}, so 300 components lose about {@code 1e-5}.
+	 */
+	public static final double TOLERANCE = 1e-4;
+
+	private final SimilarityCalculationType calculationType; // Which similarity measure to compute
+
+	/**
+	 * Constructs a {@code VectorSimilarity} for the given similarity measure.
+	 *
+	 * @param calculationType The similarity measure to compute.
+	 */
+	public VectorSimilarity(SimilarityCalculationType calculationType) {
+		this.calculationType = calculationType;
+	}
+
+	/**
+	 * Calculates the similarity score between two vectors.
+	 *
+	 * @param vector1 The first vector.
+	 * @param vector2 The second vector.
+	 * @return A double representing the similarity score.
+	 */
+	@Override
+	public double calculate(float[] vector1, float[] vector2) {//Big-O Notation: O(n) - n / lanes vector steps plus a scalar tail
+		return calculate(vector1, vector2, 0);
+	}
+
+	/**
+	 * Calculates the similarity score between a vector and a row of a matrix.
+	 *
+	 * @param vector The query vector.
+	 * @param matrix The row-major matrix holding the other vector.
+	 * @param offset The start of the row in {@code matrix}.
+	 * @return A double representing the similarity score.
+	 */
+	@Override
+	public double calculate(float[] vector, float[] matrix, int offset) {//Big-O Notation: O(n) - n / lanes vector steps plus a scalar tail
+		return switch (calculationType) {
+		case COSINE -> cosine(vector, matrix, offset);
+		case DOT_PRODUCT -> dotProduct(vector, matrix, offset);
+		case EUCLIDEAN -> euclidean(vector, matrix, offset);
+		case MANHATTAN -> manhattan(vector, matrix, offset);
+		};
+	}
+
+	/**
+	 * Calculates the similarity score using precomputed norms. Cosine and Euclidean
+	 * reduce to a single vectorised dot product.
+	 *
+	 * @param vector     The query vector.
+	 * @param vectorNorm The L2 norm of {@code vector}.
+	 * @param matrix     The row-major matrix holding the other vector.
+	 * @param offset     The start of the row in {@code matrix}.
+	 * @param rowNorm    The L2 norm of the row.
+	 * @return A double representing the similarity score.
+	 */
+	@Override
+	public double calculate(float[] vector, double vectorNorm, float[] matrix, int offset, double rowNorm) {//Big-O Notation: O(n) - at most one vectorised pass
+		return switch (calculationType) {
+		case COSINE -> dotProduct(vector, matrix, offset) / (vectorNorm * rowNorm);
+		case DOT_PRODUCT -> dotProduct(vector, matrix, offset);
+		case EUCLIDEAN -> -Math.sqrt(Math.max(
+				vectorNorm * vectorNorm + rowNorm * rowNorm - 2 * dotProduct(vector, matrix, offset), 0.0));
+		case MANHATTAN -> manhattan(vector, matrix, offset);
+		};
+	}
+
+	/**
+	 * Retrieves the type of similarity calculation implemented.
+	 *
+	 * @return The {@link SimilarityCalculationType} given at construction.
+	 */
+	@Override
+	public SimilarityCalculationType getCalculationType() {//Big-O Notation: O(1) - Returns a stored value
+		return calculationType;
+	}
+
+	// Cosine similarity: dot product and both norms accumulated in one pass
+	private static double cosine(float[] vector, float[] matrix, int offset) {//Big-O Notation: O(n)
+		FloatVector dot = FloatVector.zero(SPECIES);
+		FloatVector norm1 = FloatVector.zero(SPECIES);
+		FloatVector norm2 = FloatVector.zero(SPECIES);
+		int upperBound = SPECIES.loopBound(vector.length);
+		int i = 0;
+
+		for (; i < upperBound; i += SPECIES.length()) {
+			FloatVector a = FloatVector.fromArray(SPECIES, vector, i);
+			FloatVector b = FloatVector.fromArray(SPECIES, matrix, offset + i);
+			dot = a.fma(b, dot);
+			norm1 = a.fma(a, norm1);
+			norm2 = b.fma(b, norm2);
+		}
+
+		double dotProduct = dot.reduceLanes(VectorOperators.ADD);
+		double normVector1 = norm1.reduceLanes(VectorOperators.ADD);
+		double normVector2 = norm2.reduceLanes(VectorOperators.ADD);
+
+		// Scalar tail for the components that do not fill a whole vector
+		for (; i < vector.length; i++) {
+			float other = matrix[offset + i];
+			dotProduct += vector[i] * other;
+			normVector1 += vector[i] * vector[i];
+			normVector2 += other * other;
+		}
+
+		return dotProduct / (Math.sqrt(normVector1) * Math.sqrt(normVector2));
+	}
+
+	// Dot product: fused multiply-add per lane
+	private static double dotProduct(float[] vector, float[] matrix, int offset) {//Big-O Notation: O(n)
+		FloatVector sum = FloatVector.zero(SPECIES);
+		int upperBound = SPECIES.loopBound(vector.length);
+		int i = 0;
+
+		for (; i < upperBound; i += SPECIES.length()) {
+			FloatVector a = FloatVector.fromArray(SPECIES, vector, i);
+			FloatVector b = FloatVector.fromArray(SPECIES, matrix, offset + i);
+			sum = a.fma(b, sum);
+		}
+
+		double dotProduct = sum.reduceLanes(VectorOperators.ADD);
+		for (; i < vector.length; i++) {
+			dotProduct += vector[i] * matrix[offset + i];
+		}
+
+		return dotProduct;
+	}
+
+	// Euclidean distance: squared differences summed per lane, negated so that higher is better
+	private static double euclidean(float[] vector, float[] matrix, int offset) {//Big-O Notation: O(n)
+		FloatVector sum = FloatVector.zero(SPECIES);
+		int upperBound = SPECIES.loopBound(vector.length);
+		int i = 0;
+
+		for (; i < upperBound; i += SPECIES.length()) {
+			FloatVector difference = FloatVector.fromArray(SPECIES, vector, i)
+					.sub(FloatVector.fromArray(SPECIES, matrix, offset + i));
+			sum = difference.fma(difference, sum);
+		}
+
+		double total = sum.reduceLanes(VectorOperators.ADD);
+		for (; i < vector.length; i++) {
+			double difference = vector[i] - matrix[offset + i];
+			total += difference * difference;
+		}
+
+		return -Math.sqrt(total);
+	}
+
+	// Manhattan distance: absolute differences summed per lane, negated so that higher is better
+	private static double manhattan(float[] vector, float[] matrix, int offset) {//Big-O Notation: O(n)
+		FloatVector sum = FloatVector.zero(SPECIES);
+		int upperBound = SPECIES.loopBound(vector.length);
+		int i = 0;
+
+		for (; i < upperBound; i += SPECIES.length()) {
+			FloatVector difference = FloatVector.fromArray(SPECIES, vector, i)
+					.sub(FloatVector.fromArray(SPECIES, matrix, offset + i));
+			sum = sum.add(difference.abs());
+		}
+
+		double total = sum.reduceLanes(VectorOperators.ADD);
+		for (; i < vector.length; i++) {
+			total += Math.abs(vector[i] - matrix[offset + i]);
+		}
+
+		return -total;
+	}
+
+	/**
+	 * Self-check: compares every overload of every type with the scalar strategy on random
+	 * vectors, including lengths shorter than one vector and lengths with a scalar tail.
+	 * Prints the largest relative difference of each type and exits with status 1 if any
+	 * exceeds {@link #TOLERANCE}.
+	 *
+	 * @param args Optionally the number of random vector pairs per length (default 1000).
+	 */
+	public static void main(String[] args) {//Big-O Notation: O(t * l * d) - t pairs of each length l, all four types
+		int trials = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int lanes = SPECIES.length();
+		int[] lengths = { 1, 3, lanes - 1, lanes, lanes + 1, 2 * lanes + 3, 17, 50, 300 };
+		Random random = new Random(7);
+		boolean passed = true;
+
+		System.out.printf(Locale.ROOT, "Vector species: %d float lanes%n", lanes);
+		for (SimilarityCalculationType type : SimilarityCalculationType.values()) {
+			SimilarityStrategy vector = new VectorSimilarity(type);
+			SimilarityStrategy scalar = type.createScalarStrategy();
+			double maxError = 0;
+
+			for (int length : lengths) {
+				if (length < 1) {
+					continue; // lanes - 1 on a one-lane species
+				}
+				for (int trial = 0; trial < trials; trial++) {
+					float[] a = randomVector(random, length);
+					float[] b = randomVector(random, length);
+					int offset = 1 + random.nextInt(length); // The row is not aligned to the matrix start
+					float[] matrix = new float[offset + length + 1];
+					System.arraycopy(b, 0, matrix, offset, length);
+					double normA = TargetIndex.norm(a, 0, length);
+					double normB = TargetIndex.norm(b, 0, length);
+
+					double expected = scalar.calculate(a, b);
+					maxError = Math.max(maxError, relativeError(vector.calculate(a, b), expected));
+					maxError = Math.max(maxError, relativeError(vector.calculate(a, matrix, offset),
+							scalar.calculate(a, matrix, offset)));
+					maxError = Math.max(maxError, relativeError(vector.calculate(a, normA, matrix, offset, normB),
+							scalar.calculate(a, normA, matrix, offset, normB)));
+				}
+			}
+
+			boolean ok = maxError <= TOLERANCE;
+			passed &= ok;
+			System.out.printf(Locale.ROOT, "%-12s max relative error %.2e %s%n", type, maxError, ok ? "OK" : "FAILED");
+		}
+
+		if (!passed) {
+			System.err.println("[ERROR] Vector kernels differ from the scalar strategies by more than " + TOLERANCE);
+			System.exit(1);
+		}
+	}
+
+	// Components in [-1, 1), like typical embedding values
+	private static float[] randomVector(Random random, int length) {//Big-O Notation: O(d)
+		float[] vector = new float[length];
+		for (int i = 0; i < length; i++) {
+			vector[i] = random.nextFloat() * 2 - 1;
+		}
+		return vector;
+	}
+
+	// Difference of two scores relative to the larger of 1 and the expected score
+	private static double relativeError(double actual, double expected) {//Big-O Notation: O(1)
+		return Math.abs(actual - expected) / Math.max(1.0, Math.abs(expected));
+	}
+
+}
@@ -0,0 +1,158 @@
+package ie.atu.sw;
+
+/**
+ * The {@code WordIndex} class is a frozen hash table from words to dense int ids, built
+ * once and then only read.
+ * <p>
+ * All words are stored back to back in one {@code char[]}, and the table is a plain
+ * {@code int[]} of ids probed linearly (open addressing). A lookup hashes the key, and
+ * compares characters in place only when the stored hash matches, so a
+ * {@link TokenSlice} can be looked up without creating a {@code String} and without the
+ * node objects and volatile reads of a {@code ConcurrentHashMap}. The table is kept at most
+ * half full, so most lookups are a single probe.
+ * </p>
+ *
+ * <h2>Layout:</h2>
+ * <pre>
+ * chars   = "thebeofand..."        every word, back to back
+ * offsets = [0, 3, 5, 7, 10, ...]  word id i is chars[offsets[i], offsets[i + 1])
+ * hashes  = [h0, h1, ...]          String-compatible hash of each word
+ * slots   = [0, 3, 0, 1, ...]      id + 1 of the word in each slot, 0 if empty
+ * </pre>
+ *
+ * @see HeapEmbeddingStore
+ * @see TargetIndex
+ *
+ * @author Declan O'Meara
+ * @version 1.0
+ * @since 21
+ */
+public class WordIndex {
+
+	private static final int EMPTY = 0; // Slot value of an unused slot
+
+	private final char[] chars; // All words back to back
+	private final int[] offsets; // Start of each word in chars, plus the end of the last
+	private final int[] hashes; // Hash of each word, checked before comparing characters
+	private final int[] slots; // Open-addressing table: word id + 1, or EMPTY
+	private final int mask; // slots.length - 1, a power of two minus one
+	private final int shift; // 32 - log2(slots.length), selects the top bits of the mixed hash
+
+	/**
+	 * Constructs a {@code WordIndex} where the id of each word is its position in the array.
+	 * If a word appears more than once, the last position wins.
+	 *
+	 * @param words The words to index.
+	 */
+	public WordIndex(String[] words) {//Big-O Notation: O(n * l) - copies and hashes every word once
+		int totalLength = 0;
+		for (String word : words) {
+			totalLength += word.length();
+		}
+
+		this.chars = new char[totalLength];
+		this.offsets = new int[words.length + 1];
+		this.hashes = new int[words.length];
+		this.slots = new int[Math.max(2, Integer.highestOneBit(Math.max(1, words.length) * 2 - 1) << 1)];
+		this.mask = slots.length - 1;
+		this.shift = Integer.numberOfLeadingZeros(slots.length) + 1;
+
+		int offset = 0;
+		for (int id = 0; id < words.length; id++) {
+			words[id].getChars(0, words[id].length(), chars, offset);
+			offsets[id] = offset;
+			offset += words[id].length();
+			hashes[id] = words[id].hashCode();
+		}
+		offsets[words.length] = offset;
+
+		for (int id = 0; id < words.length; id++) {
+			int slot = slot(hashes[id]);
+			while (slots[slot] != EMPTY && !matches(slots[slot] - 1, hashes[id], words[id])) {
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = id + 1;
+		}
+	}
+
+	/**
+	 * Looks up the id of a word.
+	 *
+	 * @param word The word, a {@code String}, a {@link TokenSlice} or any other {@code CharSequence}.
+	 * @return The id of the word, or {@code -1} if it is not indexed.
+	 */
+	public int id(CharSequence word) {//Big-O Notation: O(l) - usually one probe and one character compare
+		int hash = hash(word);
+		int slot = slot(hash);
+		int entry;
+		while ((entry = slots[slot]) != EMPTY) {
+			if (matches(entry - 1, hash, word)) {
+				return entry - 1;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Checks whether a word is indexed.
+	 *
+	 * @param word The word to check.
+	 * @return {@code true} if the word has an id.
+	 */
+	public boolean contains(CharSequence word) {//Big-O Notation: O(l) - one lookup
+		return id(word) >= 0;
+	}
+
+	/**
+	 * Retrieves the word with a given id.
+	 *
+	 * @param id The word id.
+	 * @return A new {@code String} holding the word.
+	 */
+	public String word(int id) {//Big-O Notation: O(l) - copies the characters
+		return new String(chars, offsets[id], offsets[id + 1] - offsets[id]);
+	}
+
+	/**
+	 * Retrieves the number of indexed words.
+	 *
+	 * @return The number of ids.
+	 */
+	public int size() {//Big-O Notation: O(1) - Retrieving stored Data
+		return hashes.length;
+	}
+
+	// Compares a stored word with a key, hash first
+	private boolean matches(int id, int hash, CharSequence word) {//Big-O Notation: O(l)
+		int start = offsets[id];
+		int length = offsets[id + 1] - start;
+		if (hashes[id] != hash || length != word.length()) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (chars[start + i] != word.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// String and TokenSlice cache a String-compatible hash; anything else is hashed here
+	private static int hash(CharSequence word) {//Big-O Notation: O(1) for String and TokenSlice, otherwise O(l)
+		if (word instanceof String || word instanceof TokenSlice) {
+			return word.hashCode();
+		}
+		int hash = 0;
+		for (int i = 0; i < word.length(); i++) {
+			hash = 31 * hash + word.charAt(i);
+		}
+		return hash;
+	}
+
+	// Fibonacci hashing: the top bits of the product depend on every bit of the hash
+	private int slot(int hash) {//Big-O Notation: O(1)
+		return (hash * 0x9E3779B9) >>> shift;
+	}
+
+}